@@ -0,0 +1,67 @@
+package service.eventos.Security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Lê os headers injetados pelo API Gateway e registra o {@link UsuarioGateway}
+ * no SecurityContext. Sem X-User-Id válido a requisição segue anônima e as
+ * regras do {@link SecurityConfig} decidem se ela passa.
+ * <p>
+ * Não é um @Component de propósito: só deve rodar dentro da cadeia do Spring Security.
+ */
+public class GatewayHeaderAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String HEADER_USER_ID = "X-User-Id";
+    static final String HEADER_USER_ROLES = "X-User-Roles";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        UsuarioGateway usuario = lerUsuario(request);
+        if (usuario != null) {
+            List<SimpleGrantedAuthority> authorities = usuario.papeis().stream()
+                    .map(papel -> new SimpleGrantedAuthority("ROLE_" + papel))
+                    .toList();
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(usuario, null, authorities));
+            SecurityContextHolder.setContext(context);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private UsuarioGateway lerUsuario(HttpServletRequest request) {
+        String userId = request.getHeader(HEADER_USER_ID);
+        if (userId == null || userId.isBlank()) return null;
+
+        UUID id;
+        try {
+            id = UUID.fromString(userId.trim());
+        } catch (IllegalArgumentException e) {
+            // header adulterado ou malformado: tratamos como não autenticado
+            return null;
+        }
+
+        Set<String> papeis = new HashSet<>();
+        String rolesCsv = request.getHeader(HEADER_USER_ROLES);
+        if (rolesCsv != null && !rolesCsv.isBlank()) {
+            for (String papel : rolesCsv.split(",")) {
+                if (!papel.isBlank()) papeis.add(papel.trim().toUpperCase());
+            }
+        }
+        return new UsuarioGateway(id, Set.copyOf(papeis));
+    }
+}
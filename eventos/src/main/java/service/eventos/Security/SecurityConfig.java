@@ -1,20 +1,78 @@
 package service.eventos.Security;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.IOException;
+import java.util.List;
 
 @Configuration
 public class SecurityConfig {
 
+    // regras por rota; a primeira que casar vale, o resto é público
+    static final List<RegraAcesso> REGRAS = List.of(
+            new RegraAcesso(HttpMethod.POST, "/eventos/*/inscrever", "CLIENTE", "Apenas CLIENTE pode se inscrever."),
+            new RegraAcesso(HttpMethod.GET, "/eventos/minhas-inscricoes", "CLIENTE", "Apenas CLIENTE pode consultar."),
+            new RegraAcesso(HttpMethod.POST, "/eventos/*/lista-espera", "CLIENTE", "Apenas CLIENTE pode entrar na lista de espera."),
+            new RegraAcesso(HttpMethod.GET, "/eventos/*/lista-espera", "CLIENTE", "Apenas CLIENTE pode consultar."),
+            new RegraAcesso(HttpMethod.POST, "/eventos/criar-evento", "ORGANIZADOR", "Apenas ORGANIZADOR pode criar evento."),
+            new RegraAcesso(HttpMethod.GET, "/eventos/meus-eventos", "ORGANIZADOR", "Apenas ORGANIZADOR pode consultar."),
+            new RegraAcesso(HttpMethod.GET, "/eventos/meus-eventos/resumo", "ORGANIZADOR", "Apenas ORGANIZADOR pode consultar."),
+            new RegraAcesso(HttpMethod.POST, "/eventos/*/cancelar", "ORGANIZADOR", "Apenas ORGANIZADOR pode cancelar evento."),
+            new RegraAcesso(HttpMethod.GET, "/eventos/*/cancelamento", "ORGANIZADOR", "Apenas ORGANIZADOR pode consultar."),
+            new RegraAcesso(HttpMethod.GET, "/eventos/*/participantes", "ORGANIZADOR", "Apenas ORGANIZADOR pode consultar."),
+            new RegraAcesso(HttpMethod.PUT, "/eventos/*", "ORGANIZADOR", "Apenas ORGANIZADOR pode atualizar."),
+            new RegraAcesso(HttpMethod.DELETE, "/eventos/*", "ORGANIZADOR", "Apenas ORGANIZADOR pode deletar.")
+    );
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/**").permitAll()
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // roda antes do DispatcherServlet: 401/403 saem sem Jackson nem Bean Validation
+                .addFilterBefore(new GatewayHeaderAuthenticationFilter(), AnonymousAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> {
+                    for (RegraAcesso regra : REGRAS) {
+                        auth.requestMatchers(regra.metodo(), regra.padrao()).hasRole(regra.papel());
+                    }
+                    auth.anyRequest().permitAll();
+                })
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((request, response, e) ->
+                                escrever(response, HttpStatus.UNAUTHORIZED, "Usuário não autenticado."))
+                        .accessDeniedHandler((request, response, e) ->
+                                escrever(response, HttpStatus.FORBIDDEN, mensagemDeAcessoNegado(request)))
                 );
         return http.build();
     }
-}
\ No newline at end of file
+
+    private static String mensagemDeAcessoNegado(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return REGRAS.stream()
+                .filter(regra -> regra.metodo().matches(request.getMethod()) && MATCHER.match(regra.padrao(), caminho))
+                .map(RegraAcesso::mensagem)
+                .findFirst()
+                .orElse("Acesso negado.");
+    }
+
+    private static void escrever(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(mensagem);
+    }
+
+    record RegraAcesso(HttpMethod metodo, String padrao, String papel, String mensagem) {
+    }
+}
@@ -0,0 +1,15 @@
+package service.eventos.Security;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Usuário autenticado pelo API Gateway, montado uma única vez a partir dos
+ * headers X-User-Id e X-User-Roles. Os papéis já vêm normalizados em maiúsculas.
+ */
+public record UsuarioGateway(UUID id, Set<String> papeis) {
+
+    public boolean temPapel(String papel) {
+        return papeis.contains(papel.toUpperCase());
+    }
+}
@@ -5,8 +5,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import service.eventos.commons.PaymentMethod;
+import service.eventos.diagnostico.ChamadaServicoEvent;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -29,7 +31,19 @@ public class IngressosClient {
     public TicketCreateResponse createTicket(Long eventId, UUID participantId, PaymentMethod method) {
         String url = baseUrl + "/tickets/reserve";
         TicketCreateRequest body = new TicketCreateRequest(eventId, participantId, method);
-        return rest.postForObject(url, body, TicketCreateResponse.class);
+        return ChamadaServicoEvent.medir("ingressos", "createTicket", eventId,
+                () -> rest.postForObject(url, body, TicketCreateResponse.class));
+    }
+
+    /**
+     * Cancela/libera em lote os ingressos dos participantes de um evento cancelado.
+     * Reenviar um lote já processado não deve ter efeito no ingressos-service.
+     * POST {baseUrl}/tickets/events/{eventId}/cancel
+     */
+    public void cancelTickets(Long eventId, List<UUID> participantIds) {
+        String url = baseUrl + "/tickets/events/" + eventId + "/cancel";
+        ChamadaServicoEvent.medir("ingressos", "cancelTickets", eventId,
+                () -> rest.postForLocation(url, new TicketCancelRequest(participantIds)));
     }
 
     // dto para recuperar dados do serviço de ingresso
@@ -47,6 +61,15 @@ public class IngressosClient {
         }
     }
 
+    @Data
+    public static class TicketCancelRequest {
+        private List<UUID> participantIds;
+
+        public TicketCancelRequest(List<UUID> participantIds) {
+            this.participantIds = participantIds;
+        }
+    }
+
     @Data
     public static class TicketCreateResponse {
         private Long ticketId;
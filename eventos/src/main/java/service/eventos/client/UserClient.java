@@ -6,6 +6,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import service.eventos.diagnostico.ChamadaServicoEvent;
 
 import java.util.UUID;
 
@@ -29,7 +30,8 @@ public class UserClient {
         String url = baseUrl + "/usuarios/" + userId;
 
         try {
-            return rest.getForObject(url, UserRespostaDto.class);
+            return ChamadaServicoEvent.medir("usuarios", "getUserById", 0,
+                    () -> rest.getForObject(url, UserRespostaDto.class));
 
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
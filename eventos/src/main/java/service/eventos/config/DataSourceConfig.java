@@ -0,0 +1,78 @@
+package service.eventos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Primário + réplica de leitura. Só entra em ação com
+ * {@code eventos.datasource.replica.url} configurada; sem ela o DataSource
+ * continua sendo o do auto-configure do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "eventos.datasource.replica", name = "url")
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primarioDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(@Qualifier("primarioDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("eventos.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("eventos.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${eventos.datasource.replica.atraso-maximo:5s}") Duration atrasoMaximo,
+            @Value("${eventos.datasource.replica.intervalo-verificacao-ms:5000}") long intervaloVerificacaoMs
+    ) {
+        return new MonitorReplica(replica, atrasoMaximo, Duration.ofMillis(intervaloVerificacaoMs));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primarioDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") DataSource replica,
+            MonitorReplica monitor
+    ) {
+        ReplicaRoutingDataSource roteamento = new ReplicaRoutingDataSource(monitor);
+        roteamento.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARIO, primario,
+                ReplicaRoutingDataSource.REPLICA, replica));
+        roteamento.setDefaultTargetDataSource(primario);
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
@@ -0,0 +1,137 @@
+package service.eventos.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import service.eventos.dto.EventoLoteRespostaDto;
+import service.eventos.dto.EventoRespostaDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escreve as leituras de eventos em protobuf (schema proto/eventos-v1.proto)
+ * quando o cliente pede {@code Accept: application/vnd.eventos.v1+protobuf}.
+ * Só escrita: as requisições continuam em JSON.
+ * <p>
+ * Usa o Jackson com o schema, então os mesmos DTOs servem JSON e protobuf;
+ * propriedades simples fora do schema são ignoradas, e o Page é reduzido aos
+ * campos de PaginaEventos.
+ */
+public class EventosProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String V1_VALUE = "application/vnd.eventos.v1+protobuf";
+    public static final MediaType V1 = MediaType.parseMediaType(V1_VALUE);
+
+    private final ProtobufMapper mapper;
+    private final ProtobufSchema evento;
+    private final ProtobufSchema paginaEventos;
+    private final ProtobufSchema eventoLote;
+    private final ProtobufSchema listaEventos;
+
+    public EventosProtobufHttpMessageConverter() {
+        super(V1);
+        this.mapper = new ProtobufMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.enable(JsonGenerator.Feature.IGNORE_UNKNOWN);
+
+        try (InputStream proto = new ClassPathResource("proto/eventos-v1.proto").getInputStream()) {
+            NativeProtobufSchema schema = ProtobufSchemaLoader.std.loadNative(proto, false);
+            this.evento = schema.forType("Evento");
+            this.paginaEventos = schema.forType("PaginaEventos");
+            this.eventoLote = schema.forType("EventoLote");
+            this.listaEventos = schema.forType("ListaEventos");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível carregar proto/eventos-v1.proto", e);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EventoRespostaDto.class.isAssignableFrom(clazz)
+                || EventoLoteRespostaDto.class.isAssignableFrom(clazz);
+    }
+
+    // Page e List só com elementos EventoRespostaDto: precisa do tipo genérico do retorno
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return schemaPara(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    // a negociação pergunta pela classe concreta (PageImpl, ArrayList) depois do canWrite com o tipo genérico
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        if (Page.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz)) {
+            return getSupportedMediaTypes();
+        }
+        return super.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object corpo, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ProtobufSchema schema = schemaPara(type != null ? type : corpo.getClass());
+        Object raiz = corpo;
+        if (schema == listaEventos) {
+            raiz = Map.of("eventos", corpo);
+        } else if (schema == paginaEventos) {
+            // só os campos do schema: objetos aninhados fora dele (pageable, sort) quebram o gerador
+            Page<?> pagina = (Page<?>) corpo;
+            raiz = Map.of("content", pagina.getContent(), "number", pagina.getNumber(), "size", pagina.getSize(),
+                    "totalElements", pagina.getTotalElements(), "totalPages", pagina.getTotalPages());
+        }
+        mapper.writer(schema).writeValue(outputMessage.getBody(), raiz);
+    }
+
+    private ProtobufSchema schemaPara(Type type) {
+        ResolvableType tipo = ResolvableType.forType(type);
+        Class<?> classe = tipo.toClass();
+        if (EventoRespostaDto.class.isAssignableFrom(classe)) return evento;
+        if (EventoLoteRespostaDto.class.isAssignableFrom(classe)) return eventoLote;
+        if (Page.class.isAssignableFrom(classe) && deEventos(tipo.as(Page.class))) return paginaEventos;
+        if (List.class.isAssignableFrom(classe) && deEventos(tipo.as(List.class))) return listaEventos;
+        return null;
+    }
+
+    private static boolean deEventos(ResolvableType colecao) {
+        return EventoRespostaDto.class.isAssignableFrom(colecao.getGeneric(0).toClass());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf é só para respostas.", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf é só para respostas.", inputMessage);
+    }
+}
@@ -0,0 +1,48 @@
+package service.eventos.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans fora do caminho das requisições (springdoc/Swagger) só são criados no
+ * primeiro uso, para a réplica nova subir e atender mais cedo. Os demais seguem
+ * criados no startup, para erros de configuração aparecerem logo.
+ */
+@Configuration
+public class InicializacaoTardiaConfig {
+
+    static final String[] PACOTES_TARDIOS = {"org.springdoc."};
+
+    // static: roda antes de qualquer bean ser instanciado
+    @Bean
+    static BeanFactoryPostProcessor inicializacaoTardiaPostProcessor() {
+        return beanFactory -> marcarTardios(beanFactory);
+    }
+
+    static void marcarTardios(ConfigurableListableBeanFactory beanFactory) {
+        for (String nome : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definicao = beanFactory.getBeanDefinition(nome);
+            if (ehTardio(definicao.getBeanClassName()) || ehTardio(classeDaFabrica(beanFactory, definicao))) {
+                definicao.setLazyInit(true);
+            }
+        }
+    }
+
+    // beans de métodos @Bean não têm classe própria na definição: vale a da configuração
+    private static String classeDaFabrica(ConfigurableListableBeanFactory beanFactory, BeanDefinition definicao) {
+        String fabrica = definicao.getFactoryBeanName();
+        if (fabrica == null || !beanFactory.containsBeanDefinition(fabrica)) return null;
+        return beanFactory.getBeanDefinition(fabrica).getBeanClassName();
+    }
+
+    private static boolean ehTardio(String classe) {
+        if (classe == null) return false;
+        for (String pacote : PACOTES_TARDIOS) {
+            if (classe.startsWith(pacote)) return true;
+        }
+        return false;
+    }
+}
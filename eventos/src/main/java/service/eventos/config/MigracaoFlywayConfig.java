@@ -0,0 +1,30 @@
+package service.eventos.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Permite subir o contexto sem migrar o banco (rodada de treino do CDS no
+ * Dockerfile). spring.flyway.enabled não serve para isso com o perfil aot:
+ * a condição fica fixa no build, e esta propriedade é lida em runtime.
+ */
+@Slf4j
+@Configuration
+public class MigracaoFlywayConfig {
+
+    @Bean
+    FlywayMigrationStrategy migracaoFlyway(
+            @Value("${eventos.flyway.migrar-na-inicializacao:true}") boolean migrar
+    ) {
+        return flyway -> {
+            if (migrar) {
+                flyway.migrate();
+            } else {
+                log.info("Migrações Flyway puladas (eventos.flyway.migrar-na-inicializacao=false).");
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package service.eventos.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifica periodicamente se a réplica responde e qual o atraso de replicação.
+ * Enquanto estiver fora ou atrasada demais, as leituras voltam para o primário.
+ * <p>
+ * O atraso é medido pelo horário da última transação reaplicada; com o primário
+ * ocioso ele cresce sem haver atraso real, o que só manda leituras para o primário.
+ * <p>
+ * O resultado de uma verificação vale por duas vezes o intervalo: se o
+ * agendador atrasar, a réplica deixa de receber leituras em vez de continuar
+ * "disponível" com um atraso que ninguém mediu.
+ */
+@Slf4j
+public class MonitorReplica {
+
+    private static final String SQL_ATRASO = """
+            select case when pg_is_in_recovery()
+                        then coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                        else 0 end
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final double atrasoMaximoSegundos;
+    private final long validadeNanos;
+    private final LongSupplier relogio;
+    // começa indisponível: só recebe leituras depois da primeira verificação
+    private volatile boolean disponivel;
+    // System.nanoTime() da última verificação bem-sucedida
+    private volatile long verificadoEm;
+
+    public MonitorReplica(DataSource replica, Duration atrasoMaximo, Duration intervaloVerificacao) {
+        this(comTimeout(new JdbcTemplate(replica)), atrasoMaximo, intervaloVerificacao, System::nanoTime);
+    }
+
+    MonitorReplica(JdbcTemplate jdbc, Duration atrasoMaximo, Duration intervaloVerificacao, LongSupplier relogio) {
+        this.jdbc = jdbc;
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+        this.validadeNanos = intervaloVerificacao.multipliedBy(2).toNanos();
+        this.relogio = relogio;
+    }
+
+    private static JdbcTemplate comTimeout(JdbcTemplate jdbc) {
+        jdbc.setQueryTimeout(2);
+        return jdbc;
+    }
+
+    @Scheduled(fixedDelayString = "${eventos.datasource.replica.intervalo-verificacao-ms:5000}")
+    public void verificar() {
+        try {
+            Double atraso = jdbc.queryForObject(SQL_ATRASO, Double.class);
+            boolean ok = atraso != null && atraso <= atrasoMaximoSegundos;
+            if (ok != disponivel) {
+                log.info("Réplica {} para leituras (atraso: {}s).", ok ? "habilitada" : "desabilitada", atraso);
+            }
+            verificadoEm = relogio.getAsLong();
+            disponivel = ok;
+        } catch (DataAccessException e) {
+            marcarIndisponivel(e);
+        }
+    }
+
+    public boolean disponivel() {
+        return disponivel && relogio.getAsLong() - verificadoEm <= validadeNanos;
+    }
+
+    public void marcarIndisponivel(Exception causa) {
+        if (disponivel) {
+            log.warn("Réplica indisponível, leituras voltam para o primário: {}", causa.getMessage());
+        }
+        disponivel = false;
+    }
+}
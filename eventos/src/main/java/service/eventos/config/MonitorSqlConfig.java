@@ -0,0 +1,35 @@
+package service.eventos.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import service.eventos.diagnostico.DataSourceMonitorado;
+import service.eventos.diagnostico.MonitorSql;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o DataSource principal no {@link DataSourceMonitorado}, no lugar do
+ * show-sql: latência por formato de SQL e log só dos statements lentos.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "eventos.sql.monitor", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class MonitorSqlConfig {
+
+    // static: post-processor não pode depender da inicialização desta configuração
+    @Bean
+    static BeanPostProcessor dataSourceMonitoradoPostProcessor(ObjectProvider<MonitorSql> monitorSql) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if ("dataSource".equals(nome) && bean instanceof DataSource dataSource
+                        && !(bean instanceof DataSourceMonitorado)) {
+                    return new DataSourceMonitorado(dataSource, monitorSql.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package service.eventos.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Negociação de conteúdo: JSON continua o padrão; protobuf só com Accept explícito.
+ */
+@Configuration
+public class ProtobufConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new EventosProtobufHttpMessageConverter());
+    }
+}
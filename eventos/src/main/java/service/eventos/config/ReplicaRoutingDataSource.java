@@ -0,0 +1,44 @@
+package service.eventos.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Manda transações {@code @Transactional(readOnly = true)} para a réplica e
+ * todo o resto para o primário. Precisa estar atrás de um
+ * LazyConnectionDataSourceProxy, para que a conexão só seja pedida depois de
+ * a transação marcar o read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIO = "primario";
+    static final String REPLICA = "replica";
+
+    private final MonitorReplica monitor;
+
+    public ReplicaRoutingDataSource(MonitorReplica monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean leitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return leitura && monitor.disponivel() ? REPLICA : PRIMARIO;
+    }
+
+    // se a réplica cair entre duas verificações, a leitura em curso não falha: vai para o primário
+    @Override
+    public Connection getConnection() throws SQLException {
+        boolean naReplica = REPLICA.equals(determineCurrentLookupKey());
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            if (!naReplica) throw e;
+            monitor.marcarIndisponivel(e);
+            return super.getConnection();
+        }
+    }
+}
@@ -1,18 +1,29 @@
 package service.eventos.controller;
 
 
-import service.eventos.client.UserClient;
+import service.eventos.Security.UsuarioGateway;
 import service.eventos.dto.*;
+import service.eventos.emalta.RankingEmAlta;
+import service.eventos.exception.RequisicaoInvalidaException;
+import service.eventos.service.CancelamentoEventoService;
 import service.eventos.service.EventoService;
+import service.eventos.service.IdempotenciaService;
+import service.eventos.service.ListaEsperaService;
+import service.eventos.service.ResumoOrganizadorService;
+import service.eventos.sugestoes.SugestoesService;
+import service.eventos.service.VagasStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.UUID;
+import java.util.List;
 
 
 @RestController
@@ -21,11 +32,49 @@ import java.util.UUID;
 public class EventoController {
 
     private final EventoService eventoService;
-
-    // Público
+    private final IdempotenciaService idempotenciaService;
+    private final VagasStreamService vagasStreamService;
+    private final CancelamentoEventoService cancelamentoEventoService;
+    private final ResumoOrganizadorService resumoOrganizadorService;
+    private final RankingEmAlta rankingEmAlta;
+    private final SugestoesService sugestoesService;
+    private final ListaEsperaService listaEsperaService;
+
+    // Público: ?categoriaId=&dataInicio=&dataFim=&localizacao=&comVagas=
     @GetMapping
-    public ResponseEntity<Page<EventoRespostaDto>> listarEventosDisponiveis(Pageable pageable) {
-        return ResponseEntity.ok(eventoService.listarEventosDisponiveis(pageable));
+    public ResponseEntity<Page<EventoRespostaDto>> listarEventosDisponiveis(FiltroEventosDto filtro, Pageable pageable) {
+        return ResponseEntity.ok(eventoService.listarEventosDisponiveis(filtro, pageable));
+    }
+
+    // Público: hidratação em lote para outros serviços (?ids=1,2,3)
+    @GetMapping("/lote")
+    public ResponseEntity<EventoLoteRespostaDto> buscarEventosEmLote(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(eventoService.buscarEmLote(ids));
+    }
+
+    // Público: mais inscrições na última HORA ou no último DIA, ranking já calculado em memória
+    @GetMapping("/em-alta")
+    public ResponseEntity<List<EventoRespostaDto>> listarEmAlta(
+            @RequestParam(defaultValue = "HORA") RankingEmAlta.Janela janela,
+            @RequestParam(defaultValue = "10") int limite
+    ) {
+        if (limite < 1 || limite > rankingEmAlta.tamanhoTop()) {
+            throw new RequisicaoInvalidaException("O limite deve estar entre 1 e " + rankingEmAlta.tamanhoTop() + ".");
+        }
+        List<Long> ids = rankingEmAlta.topIds(janela, limite);
+        if (ids.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(eventoService.buscarEmLote(ids).getEventos());
+    }
+
+    // Público: autocomplete da busca por nome ou localização, servido de memória
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<SugestaoDto>> sugerir(
+            @RequestParam String prefixo,
+            @RequestParam(defaultValue = "10") int limite
+    ) {
+        return ResponseEntity.ok(sugestoesService.sugerir(prefixo, limite));
     }
 
     // Público
@@ -34,97 +83,130 @@ public class EventoController {
         return ResponseEntity.ok(eventoService.buscarPorId(id));
     }
 
+    // Público: vagas em tempo real via Server-Sent Events
+    @GetMapping(path = "/{id}/vagas/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharVagas(@PathVariable Long id) {
+        EventoRespostaDto evento = eventoService.buscarPorId(id);
+        return vagasStreamService.assinar(id, new VagasDto(id, evento.getVagas(), evento.getStatus()));
+    }
+
     // Fluxo CLIENTE
+    // papéis e autenticação são checados antes pelo SecurityConfig
 
     @PostMapping("/{eventoId}/inscrever")
-    public ResponseEntity<?> inscreverEmEvento(
+    public ResponseEntity<Void> inscreverEmEvento(
+            @PathVariable Long eventoId,
+            @AuthenticationPrincipal UsuarioGateway usuario,
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String chaveIdempotencia
+    ) {
+        String escopo = usuario.id() + ":inscrever:" + eventoId;
+        return idempotenciaService.executar(escopo, chaveIdempotencia, null, () -> {
+            eventoService.inscreverEmEvento(eventoId, usuario.id());
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    // evento lotado: entra na fila e é inscrito automaticamente quando abrir vaga
+    @PostMapping("/{eventoId}/lista-espera")
+    public ResponseEntity<ListaEsperaDto> entrarNaListaDeEspera(
             @PathVariable Long eventoId,
-            @RequestHeader(value = "X-User-Id", required = false) UUID userId,
-            @RequestHeader(value = "X-User-Roles", required = false) String rolesCsv
+            @AuthenticationPrincipal UsuarioGateway usuario
     ) {
-        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não autenticado.");
-        if (!hasRole(rolesCsv, "CLIENTE"))
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Apenas CLIENTE pode se inscrever.");
+        return new ResponseEntity<>(listaEsperaService.entrar(eventoId, usuario.id()), HttpStatus.CREATED);
+    }
 
-        eventoService.inscreverEmEvento(eventoId, userId);
-        return ResponseEntity.ok().build();
+    @GetMapping("/{eventoId}/lista-espera")
+    public ResponseEntity<ListaEsperaDto> consultarListaDeEspera(
+            @PathVariable Long eventoId,
+            @AuthenticationPrincipal UsuarioGateway usuario
+    ) {
+        return ResponseEntity.ok(listaEsperaService.consultarPosicao(eventoId, usuario.id()));
     }
 
+    // ?arquivadas=true consulta os eventos antigos já movidos para o arquivo
     @GetMapping("/minhas-inscricoes")
-    public ResponseEntity<?> getMinhasInscricoes(
+    public ResponseEntity<Page<EventoRespostaDto>> getMinhasInscricoes(
             Pageable pageable,
-            @RequestHeader(value = "X-User-Id", required = false) UUID userId,
-            @RequestHeader(value = "X-User-Roles", required = false) String rolesCsv
+            @RequestParam(defaultValue = "false") boolean arquivadas,
+            @AuthenticationPrincipal UsuarioGateway usuario
     ) {
-        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não autenticado.");
-        if (!hasRole(rolesCsv, "CLIENTE"))
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Apenas CLIENTE pode consultar.");
-
-        return ResponseEntity.ok(eventoService.buscarInscricoesDoParticipante(userId, pageable));
+        if (arquivadas) {
+            return ResponseEntity.ok(eventoService.buscarInscricoesArquivadasDoParticipante(usuario.id(), pageable));
+        }
+        return ResponseEntity.ok(eventoService.buscarInscricoesDoParticipante(usuario.id(), pageable));
     }
 
     //Fluxo ORGANIZADOR
 
     @PostMapping("/criar-evento")
-    public ResponseEntity<?> criarEvento(
+    public ResponseEntity<EventoRespostaDto> criarEvento(
             @Valid @RequestBody EventoRequisicaoDto requisicaoDto,
-            @RequestHeader(value = "X-User-Id", required = false) UUID organizerId,
-            @RequestHeader(value = "X-User-Roles", required = false) String rolesCsv
+            @AuthenticationPrincipal UsuarioGateway usuario,
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String chaveIdempotencia
     ) {
-        if (organizerId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não autenticado.");
-        if (!hasRole(rolesCsv, "ORGANIZADOR"))
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Apenas ORGANIZADOR pode criar evento.");
-
-        var eventoCriado = eventoService.criarEvento(requisicaoDto, organizerId);
-        return new ResponseEntity<>(eventoCriado, HttpStatus.CREATED);
+        String escopo = usuario.id() + ":criar-evento";
+        return idempotenciaService.executar(escopo, chaveIdempotencia, requisicaoDto, () -> {
+            var eventoCriado = eventoService.criarEvento(requisicaoDto, usuario.id());
+            return new ResponseEntity<>(eventoCriado, HttpStatus.CREATED);
+        });
     }
 
     @PutMapping("/{eventoId}")
-    public ResponseEntity<?> atualizarEvento(
+    public ResponseEntity<EventoRespostaDto> atualizarEvento(
             @PathVariable Long eventoId,
             @Valid @RequestBody EventoRequisicaoDto requisicaoDto,
-            @RequestHeader(value = "X-User-Id", required = false) UUID organizerId,
-            @RequestHeader(value = "X-User-Roles", required = false) String rolesCsv
+            @AuthenticationPrincipal UsuarioGateway usuario
     ) {
-        if (organizerId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não autenticado.");
-        if (!hasRole(rolesCsv, "ORGANIZADOR"))
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Apenas ORGANIZADOR pode atualizar.");
-
-        return ResponseEntity.ok(eventoService.atualizarEvento(eventoId, requisicaoDto, organizerId));
+        return ResponseEntity.ok(eventoService.atualizarEvento(eventoId, requisicaoDto, usuario.id()));
     }
 
     @DeleteMapping("/{eventoId}")
-    public ResponseEntity<?> deletarEvento(
+    public ResponseEntity<Void> deletarEvento(
             @PathVariable Long eventoId,
-            @RequestHeader(value = "X-User-Id", required = false) UUID organizerId,
-            @RequestHeader(value = "X-User-Roles", required = false) String rolesCsv
+            @AuthenticationPrincipal UsuarioGateway usuario
     ) {
-        if (organizerId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não autenticado.");
-        if (!hasRole(rolesCsv, "ORGANIZADOR"))
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Apenas ORGANIZADOR pode deletar.");
-
-        eventoService.deletarEvento(eventoId, organizerId);
+        eventoService.deletarEvento(eventoId, usuario.id());
         return ResponseEntity.noContent().build();
     }
+    // ?cursor= vem de proximoCursor da página anterior
+    @GetMapping("/{eventoId}/participantes")
+    public ResponseEntity<ParticipantesPaginaDto> listarParticipantes(
+            @PathVariable Long eventoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            @AuthenticationPrincipal UsuarioGateway usuario
+    ) {
+        return ResponseEntity.ok(eventoService.listarParticipantes(eventoId, usuario.id(), cursor, limite));
+    }
+
+    // 202: o evento já está CANCELADO; os ingressos são liberados em segundo plano
+    @PostMapping("/{eventoId}/cancelar")
+    public ResponseEntity<CancelamentoDto> cancelarEvento(
+            @PathVariable Long eventoId,
+            @AuthenticationPrincipal UsuarioGateway usuario
+    ) {
+        return ResponseEntity.accepted().body(cancelamentoEventoService.cancelarEvento(eventoId, usuario.id()));
+    }
+
+    @GetMapping("/{eventoId}/cancelamento")
+    public ResponseEntity<CancelamentoDto> acompanharCancelamento(
+            @PathVariable Long eventoId,
+            @AuthenticationPrincipal UsuarioGateway usuario
+    ) {
+        return ResponseEntity.ok(cancelamentoEventoService.consultarCancelamento(eventoId, usuario.id()));
+    }
+
     @GetMapping("/meus-eventos")
-    public ResponseEntity<?> getMeusEventos(
+    public ResponseEntity<Page<EventoRespostaDto>> getMeusEventos(
             Pageable pageable,
-            @RequestHeader(value = "X-User-Id", required = false) UUID organizerId,
-            @RequestHeader(value = "X-User-Roles", required = false) String rolesCsv
+            @AuthenticationPrincipal UsuarioGateway usuario
     ) {
-        if (organizerId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuário não autenticado.");
-        if (!hasRole(rolesCsv, "ORGANIZADOR"))
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Apenas ORGANIZADOR pode consultar.");
-
-        return ResponseEntity.ok(eventoService.buscarEventosDoOrganizador(organizerId, pageable));
+        return ResponseEntity.ok(eventoService.buscarEventosDoOrganizador(usuario.id(), pageable));
     }
 
-    // utilzinho local
-    private boolean hasRole(String rolesCsv, String role) {
-        if (rolesCsv == null || rolesCsv.isBlank()) return false;
-        for (String r : rolesCsv.split(",")) {
-            if (role.equalsIgnoreCase(r.trim())) return true;
-        }
-        return false;
+    // agregados pré-calculados: custo constante, independente do histórico do organizador
+    @GetMapping("/meus-eventos/resumo")
+    public ResponseEntity<ResumoOrganizadorDto> getResumoMeusEventos(@AuthenticationPrincipal UsuarioGateway usuario) {
+        return ResponseEntity.ok(resumoOrganizadorService.buscarResumo(usuario.id()));
     }
 }
@@ -0,0 +1,58 @@
+package service.eventos.diagnostico;
+
+import jdk.jfr.*;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.function.Supplier;
+
+/**
+ * Evento JFR com a duração de uma chamada HTTP a outro serviço (usuários, ingressos).
+ * eventoId é 0 quando a chamada não é de um evento específico.
+ */
+@Name("service.eventos.ChamadaServico")
+@Label("Chamada a serviço externo")
+@Category({"Eventos", "Clientes HTTP"})
+@StackTrace(false)
+public class ChamadaServicoEvent extends Event {
+
+    @Label("Serviço")
+    String servico;
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("Evento")
+    long eventoId;
+
+    @Label("Resultado")
+    String resultado;
+
+    public static <T> T medir(String servico, String operacao, long eventoId, Supplier<T> chamada) {
+        ChamadaServicoEvent evento = new ChamadaServicoEvent();
+        if (!evento.isEnabled()) {
+            return chamada.get();
+        }
+        evento.begin();
+        String resultado = "ERRO";
+        try {
+            T retorno = chamada.get();
+            resultado = "OK";
+            return retorno;
+        } catch (RestClientResponseException e) {
+            resultado = "HTTP " + e.getStatusCode().value();
+            throw e;
+        } catch (RuntimeException e) {
+            resultado = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.servico = servico;
+                evento.operacao = operacao;
+                evento.eventoId = eventoId;
+                evento.resultado = resultado;
+                evento.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package service.eventos.diagnostico;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * DataSource que mede cada statement executado e repassa ao {@link MonitorSql}.
+ * <p>
+ * Conexões, statements e result sets são proxies finos sobre os originais.
+ * Para consultas o registro acontece no fechamento do ResultSet, quando já se
+ * sabe quantas linhas foram lidas; o tempo é o do execute.
+ */
+public class DataSourceMonitorado extends DelegatingDataSource {
+
+    private final MonitorSql monitor;
+
+    public DataSourceMonitorado(DataSource alvo, MonitorSql monitor) {
+        super(alvo);
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conexao(super.getConnection(username, password));
+    }
+
+    private Connection conexao(Connection alvo) {
+        return proxy(Connection.class, alvo, (p, metodo, args) -> {
+            Object resultado = invocar(alvo, metodo, args);
+            String nome = metodo.getName();
+            if ((nome.equals("prepareStatement") || nome.equals("prepareCall")) && resultado instanceof PreparedStatement ps) {
+                return statement(metodo.getReturnType(), ps, (String) args[0]);
+            }
+            if (nome.equals("createStatement") && resultado instanceof Statement st) {
+                return statement(Statement.class, st, null);
+            }
+            return resultado;
+        });
+    }
+
+    private Object statement(Class<?> tipo, Statement alvo, String sqlPreparado) {
+        MedicaoStatement medicao = new MedicaoStatement(sqlPreparado);
+        return proxy(tipo, alvo, (p, metodo, args) -> {
+            String nome = metodo.getName();
+            if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                medicao.parametros = Math.max(medicao.parametros, indice);
+                return invocar(alvo, metodo, args);
+            }
+            if (!nome.startsWith("execute")) {
+                return invocar(alvo, metodo, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : medicao.sql;
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = invocar(alvo, metodo, args);
+            } catch (Throwable e) {
+                registrar(sql, System.nanoTime() - inicio, medicao.parametros, -1);
+                throw e;
+            }
+            long nanos = System.nanoTime() - inicio;
+
+            if (resultado instanceof ResultSet rs) {
+                return resultSet(rs, sql, nanos, medicao.parametros);
+            }
+            registrar(sql, nanos, medicao.parametros, linhasAfetadas(resultado, alvo));
+            return resultado;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet alvo, String sql, long nanos, int parametros) {
+        long[] linhas = {0};
+        boolean[] registrado = {false};
+        return proxy(ResultSet.class, alvo, (p, metodo, args) -> {
+            Object resultado = invocar(alvo, metodo, args);
+            if (metodo.getName().equals("next") && Boolean.TRUE.equals(resultado)) {
+                linhas[0]++;
+            } else if (metodo.getName().equals("close") && !registrado[0]) {
+                registrado[0] = true;
+                registrar(sql, nanos, parametros, linhas[0]);
+            }
+            return resultado;
+        });
+    }
+
+    private void registrar(String sql, long nanos, int parametros, long linhas) {
+        if (sql != null) {
+            monitor.registrar(sql, nanos, parametros, linhas);
+        }
+    }
+
+    // -1 quando não se sabe (ex: execute() que devolveu um ResultSet não lido)
+    private static long linhasAfetadas(Object resultado, Statement alvo) throws SQLException {
+        if (resultado instanceof Integer n) return n;
+        if (resultado instanceof Long n) return n;
+        if (resultado instanceof int[] lote) {
+            long total = 0;
+            for (int n : lote) total += Math.max(n, 0);
+            return total;
+        }
+        if (resultado instanceof long[] lote) {
+            long total = 0;
+            for (long n : lote) total += Math.max(n, 0);
+            return total;
+        }
+        if (Boolean.FALSE.equals(resultado)) {
+            return alvo.getUpdateCount();
+        }
+        return -1;
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> tipo, Object alvo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(DataSourceMonitorado.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static final class MedicaoStatement {
+        final String sql;
+        int parametros;
+
+        MedicaoStatement(String sql) {
+            this.sql = sql;
+        }
+    }
+}
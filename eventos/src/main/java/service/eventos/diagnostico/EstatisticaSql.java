@@ -0,0 +1,76 @@
+package service.eventos.diagnostico;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latência de um formato de SQL, sem lock.
+ * Baldes em potências de 2 de microssegundos: o balde i guarda durações em
+ * [2^(i-1), 2^i) µs, então percentis saem com erro de no máximo 2x.
+ */
+final class EstatisticaSql {
+
+    private static final int BALDES = 40;
+
+    private final String formato;
+    private final LongAdder execucoes = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder totalLinhas = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray baldes = new AtomicLongArray(BALDES);
+
+    EstatisticaSql(String formato) {
+        this.formato = formato;
+    }
+
+    void registrar(long nanos, long linhas) {
+        execucoes.increment();
+        totalNanos.add(nanos);
+        if (linhas > 0) totalLinhas.add(linhas);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        long micros = nanos / 1_000;
+        int balde = Math.min(BALDES - 1, 64 - Long.numberOfLeadingZeros(micros));
+        baldes.incrementAndGet(balde);
+    }
+
+    String formato() {
+        return formato;
+    }
+
+    long execucoes() {
+        return execucoes.sum();
+    }
+
+    long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    long totalLinhas() {
+        return totalLinhas.sum();
+    }
+
+    long maxNanos() {
+        return maxNanos.get();
+    }
+
+    // limite superior do balde onde o percentil cai, em microssegundos
+    long percentilMicros(double percentil) {
+        long[] copia = new long[BALDES];
+        long total = 0;
+        for (int i = 0; i < BALDES; i++) {
+            copia[i] = baldes.get(i);
+            total += copia[i];
+        }
+        if (total == 0) return 0;
+        long alvo = (long) Math.ceil(total * percentil);
+        long acumulado = 0;
+        for (int i = 0; i < BALDES; i++) {
+            acumulado += copia[i];
+            if (acumulado >= alvo) {
+                return 1L << i;
+            }
+        }
+        return 1L << (BALDES - 1);
+    }
+}
@@ -0,0 +1,97 @@
+package service.eventos.diagnostico;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.*;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gravação JFR sob demanda, em /actuator/jfr (porta de gerenciamento).
+ * <ul>
+ *     <li>POST: inicia (perfil "default" + eventos de inscrição e chamadas HTTP), opcional {"duracaoSegundos": 60}</li>
+ *     <li>GET: estado da gravação</li>
+ *     <li>GET /arquivo: baixa um .jfr com o que foi gravado até agora</li>
+ *     <li>DELETE: para e descarta</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class GravacaoJfrEndpoint {
+
+    private static final Duration DURACAO_PADRAO = Duration.ofMinutes(5);
+
+    private Recording gravacao;
+
+    @WriteOperation
+    public synchronized Map<String, Object> iniciar(@Nullable Integer duracaoSegundos) throws IOException, ParseException {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+        Recording nova = new Recording(Configuration.getConfiguration("default"));
+        nova.setName("eventos-sob-demanda");
+        nova.enable(InscricaoFaseEvent.class);
+        nova.enable(ChamadaServicoEvent.class);
+        nova.setDuration(duracaoSegundos != null ? Duration.ofSeconds(duracaoSegundos) : DURACAO_PADRAO);
+        nova.setToDisk(true);
+        nova.start();
+        gravacao = nova;
+        log.info("Gravação JFR iniciada por {}.", nova.getDuration());
+        return estado();
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        if (gravacao == null) {
+            estado.put("estado", "SEM_GRAVACAO");
+            return estado;
+        }
+        estado.put("estado", gravacao.getState().name());
+        estado.put("inicio", gravacao.getStartTime());
+        estado.put("duracao", gravacao.getDuration());
+        return estado;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> arquivo(@Selector String arquivo) throws IOException {
+        if (!"arquivo".equals(arquivo) || gravacao == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path destino = Files.createTempFile("eventos-", ".jfr");
+        try {
+            gravacao.dump(destino);
+            // o arquivo é apagado ao fechar o stream, quando a resposta termina de ser escrita
+            // (no Linux ele já sai do diretório na abertura; o espaço volta no fechamento)
+            return new WebEndpointResponse<>(
+                    new InputStreamResource(Files.newInputStream(destino, StandardOpenOption.DELETE_ON_CLOSE)),
+                    WebEndpointResponse.STATUS_OK);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(destino);
+            throw e;
+        }
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> parar() {
+        if (gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+        return estado();
+    }
+}
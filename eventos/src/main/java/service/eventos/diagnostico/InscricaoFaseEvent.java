@@ -0,0 +1,50 @@
+package service.eventos.diagnostico;
+
+import jdk.jfr.*;
+
+import java.util.function.Supplier;
+
+/**
+ * Evento JFR com a duração de uma fase de {@code EventoService.inscreverEmEvento}.
+ * Desligado (padrão), custa um teste de flag por fase.
+ */
+@Name("service.eventos.InscricaoFase")
+@Label("Fase da inscrição")
+@Category({"Eventos", "Inscrição"})
+@StackTrace(false)
+public class InscricaoFaseEvent extends Event {
+
+    @Label("Evento")
+    long eventoId;
+
+    @Label("Fase")
+    String fase;
+
+    @Label("Resultado")
+    String resultado;
+
+    public static <T> T medir(long eventoId, String fase, Supplier<T> acao) {
+        InscricaoFaseEvent evento = new InscricaoFaseEvent();
+        if (!evento.isEnabled()) {
+            return acao.get();
+        }
+        evento.begin();
+        String resultado = "ERRO";
+        try {
+            T retorno = acao.get();
+            resultado = "OK";
+            return retorno;
+        } catch (RuntimeException e) {
+            resultado = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.eventoId = eventoId;
+                evento.fase = fase;
+                evento.resultado = resultado;
+                evento.commit();
+            }
+        }
+    }
+}
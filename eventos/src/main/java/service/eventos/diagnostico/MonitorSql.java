@@ -0,0 +1,105 @@
+package service.eventos.diagnostico;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Latência por formato de SQL (literais e listas de IN trocados por ?), alimentada
+ * pelo {@link DataSourceMonitorado}. Statements acima do limite vão para o log
+ * com quantidade de parâmetros e de linhas, nunca com os valores.
+ */
+@Slf4j
+@Component
+public class MonitorSql {
+
+    static final String OUTROS = "(outros formatos)";
+
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final Map<String, EstatisticaSql> porFormato = new ConcurrentHashMap<>();
+    // o Hibernate gera um conjunto finito de SQLs: normaliza cada texto uma vez só
+    private final Map<String, String> formatos = new ConcurrentHashMap<>();
+    private final long limiteLentoNanos;
+    private final int maxFormatos;
+
+    public MonitorSql(
+            @Value("${eventos.sql.limite-lento:200ms}") Duration limiteLento,
+            @Value("${eventos.sql.max-formatos:500}") int maxFormatos
+    ) {
+        this.limiteLentoNanos = limiteLento.toNanos();
+        this.maxFormatos = maxFormatos;
+    }
+
+    void registrar(String sql, long nanos, int parametros, long linhas) {
+        String formato = formato(sql);
+        EstatisticaSql estatistica = porFormato.get(formato);
+        if (estatistica == null) {
+            // teto de memória: formatos novos além do limite vão para um balde comum
+            String chave = porFormato.size() < maxFormatos ? formato : OUTROS;
+            estatistica = porFormato.computeIfAbsent(chave, EstatisticaSql::new);
+        }
+        estatistica.registrar(nanos, linhas);
+
+        if (nanos >= limiteLentoNanos) {
+            log.warn("SQL lento: {} ms, {} parâmetro(s), {} linha(s): {}",
+                    nanos / 1_000_000, parametros, linhas >= 0 ? linhas : "?", formato);
+        }
+    }
+
+    String formato(String sql) {
+        String formato = formatos.get(sql);
+        if (formato == null) {
+            formato = normalizar(sql);
+            if (formatos.size() < maxFormatos * 4) {
+                formatos.put(sql, formato);
+            }
+        }
+        return formato;
+    }
+
+    static String normalizar(String sql) {
+        String resultado = TEXTO.matcher(sql).replaceAll("?");
+        resultado = NUMERO.matcher(resultado).replaceAll("?");
+        resultado = LISTA.matcher(resultado).replaceAll("(?, ...)");
+        return ESPACOS.matcher(resultado).replaceAll(" ").trim();
+    }
+
+    /**
+     * Os {@code limite} formatos com maior p99.
+     */
+    public List<Map<String, Object>> maisLentos(int limite) {
+        List<EstatisticaSql> todas = new ArrayList<>(porFormato.values());
+        todas.sort(Comparator.comparingLong((EstatisticaSql e) -> e.percentilMicros(0.99))
+                .thenComparingLong(EstatisticaSql::maxNanos)
+                .reversed());
+
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (EstatisticaSql estatistica : todas.subList(0, Math.min(limite, todas.size()))) {
+            long execucoes = estatistica.execucoes();
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("sql", estatistica.formato());
+            linha.put("execucoes", execucoes);
+            linha.put("mediaMs", execucoes > 0 ? estatistica.totalNanos() / execucoes / 1_000_000.0 : 0.0);
+            linha.put("p50Ms", estatistica.percentilMicros(0.50) / 1_000.0);
+            linha.put("p95Ms", estatistica.percentilMicros(0.95) / 1_000.0);
+            linha.put("p99Ms", estatistica.percentilMicros(0.99) / 1_000.0);
+            linha.put("maxMs", estatistica.maxNanos() / 1_000_000.0);
+            linha.put("mediaLinhas", execucoes > 0 ? (double) estatistica.totalLinhas() / execucoes : 0.0);
+            resultado.add(linha);
+        }
+        return resultado;
+    }
+
+    public void limpar() {
+        porFormato.clear();
+    }
+}
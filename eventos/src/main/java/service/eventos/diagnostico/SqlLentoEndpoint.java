@@ -0,0 +1,34 @@
+package service.eventos.diagnostico;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/sql?limite=10: formatos de SQL com maior p99 desde o início (ou o último DELETE).
+ */
+@Component
+@Endpoint(id = "sql")
+public class SqlLentoEndpoint {
+
+    private final MonitorSql monitorSql;
+
+    public SqlLentoEndpoint(MonitorSql monitorSql) {
+        this.monitorSql = monitorSql;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> maisLentos(@Nullable Integer limite) {
+        return monitorSql.maisLentos(limite != null ? limite : 10);
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        monitorSql.limpar();
+    }
+}
@@ -0,0 +1,18 @@
+package service.eventos.dto;
+
+import lombok.Data;
+import service.eventos.model.StatusCancelamento;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CancelamentoDto {
+    private Long eventoId;
+    private StatusCancelamento status;
+    private Integer totalParticipantes;
+    private Integer processados;
+    private Integer tentativas;
+    private String ultimoErro;
+    private LocalDateTime criadoEm;
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,16 @@
+package service.eventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventoLoteRespostaDto {
+    // na mesma ordem dos IDs pedidos
+    private List<EventoRespostaDto> eventos;
+    private List<Long> naoEncontrados;
+}
@@ -0,0 +1,27 @@
+package service.eventos.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionais de GET /eventos. Cada combinação suportada tem um índice
+ * composto correspondente (ver db/migration).
+ */
+@Data
+public class FiltroEventosDto {
+
+    private Long categoriaId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataInicio;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataFim;
+
+    // prefixo, sem diferenciar maiúsculas/minúsculas
+    private String localizacao;
+
+    private Boolean comVagas;
+}
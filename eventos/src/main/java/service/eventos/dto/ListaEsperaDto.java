@@ -0,0 +1,14 @@
+package service.eventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListaEsperaDto {
+    private Long eventoId;
+    // 1 = próximo a ser promovido
+    private Integer posicao;
+}
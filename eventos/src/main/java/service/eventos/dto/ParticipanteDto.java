@@ -0,0 +1,16 @@
+package service.eventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipanteDto {
+    private UUID participanteId;
+    private LocalDateTime inscritoEm;
+}
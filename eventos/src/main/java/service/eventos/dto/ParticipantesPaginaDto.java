@@ -0,0 +1,16 @@
+package service.eventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantesPaginaDto {
+    private List<ParticipanteDto> participantes;
+    // repassar em ?cursor= para a próxima página; null quando não há mais
+    private String proximoCursor;
+}
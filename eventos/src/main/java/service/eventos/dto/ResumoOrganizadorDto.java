@@ -0,0 +1,20 @@
+package service.eventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoOrganizadorDto {
+    private long totalEventos;
+    private long totalInscricoes;
+    // inscrições / capacidade somada de todos os eventos, de 0 a 1
+    private double ocupacaoMedia;
+    // eventos ainda por acontecer sem vagas
+    private long proximosEsgotados;
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,20 @@
+package service.eventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoDto {
+
+    public enum Tipo {
+        NOME, LOCALIZACAO
+    }
+
+    private String texto;
+    private Tipo tipo;
+    // um dos eventos com esse texto
+    private Long eventoId;
+}
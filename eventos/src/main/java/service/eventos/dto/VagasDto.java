@@ -0,0 +1,15 @@
+package service.eventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import service.eventos.model.StatusEvento;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VagasDto {
+    private Long eventoId;
+    private Integer vagas;
+    private StatusEvento status;
+}
@@ -0,0 +1,47 @@
+package service.eventos.emalta;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador em janela deslizante, dividido em baldes de tempo, sem lock.
+ * <p>
+ * Cada balde é um único long: época do balde nos 32 bits altos e contagem nos
+ * 32 baixos. Um CAS incrementa ou, se o balde for de uma volta anterior do
+ * anel, reinicia com a época atual, sem perder incrementos concorrentes.
+ */
+final class JanelaDeslizante {
+
+    private final AtomicLongArray baldes;
+    private final long duracaoBaldeMs;
+
+    JanelaDeslizante(int quantidadeBaldes, long duracaoBaldeMs) {
+        this.baldes = new AtomicLongArray(quantidadeBaldes);
+        this.duracaoBaldeMs = duracaoBaldeMs;
+    }
+
+    void registrar(long agoraMs) {
+        long epoca = agoraMs / duracaoBaldeMs;
+        int indice = (int) (epoca % baldes.length());
+        while (true) {
+            long atual = baldes.get(indice);
+            long novo = (atual >>> 32) == epoca ? atual + 1 : (epoca << 32) | 1L;
+            if (baldes.compareAndSet(indice, atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    // soma dos baldes que ainda estão dentro da janela
+    long total(long agoraMs) {
+        long epocaAtual = agoraMs / duracaoBaldeMs;
+        long total = 0;
+        for (int i = 0; i < baldes.length(); i++) {
+            long valor = baldes.get(i);
+            long epoca = valor >>> 32;
+            if (epoca <= epocaAtual && epocaAtual - epoca < baldes.length()) {
+                total += valor & 0xFFFF_FFFFL;
+            }
+        }
+        return total;
+    }
+}
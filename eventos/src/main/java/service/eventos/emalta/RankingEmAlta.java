@@ -0,0 +1,133 @@
+package service.eventos.emalta;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.model.StatusEvento;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Eventos "em alta": mais inscrições na última hora ou no último dia.
+ * <p>
+ * Cada inscrição confirmada incrementa os contadores do evento em memória; o
+ * top-K de cada janela é recalculado periodicamente e a requisição só lê a lista
+ * pronta. Só eventos ATIVO com inscrições recentes têm contador, e há um teto
+ * ({@code eventos.em-alta.max-eventos}). Por réplica: com várias réplicas cada
+ * uma enxerga as inscrições que ela mesma atendeu.
+ */
+@Service
+public class RankingEmAlta {
+
+    public enum Janela {
+        HORA, DIA
+    }
+
+    private final Map<Long, Contadores> contadores = new ConcurrentHashMap<>();
+    private final int maxEventos;
+    private final int tamanhoTop;
+    private volatile Map<Janela, List<Long>> top = Map.of(Janela.HORA, List.of(), Janela.DIA, List.of());
+
+    public RankingEmAlta(
+            @Value("${eventos.em-alta.max-eventos:10000}") int maxEventos,
+            @Value("${eventos.em-alta.tamanho-top:50}") int tamanhoTop
+    ) {
+        this.maxEventos = maxEventos;
+        this.tamanhoTop = tamanhoTop;
+    }
+
+    // após o commit: inscrição desfeita não conta
+    @TransactionalEventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        switch (evento.tipo()) {
+            case INSCRICAO -> registrar(evento.eventoId(), System.currentTimeMillis());
+            case REMOVIDO -> contadores.remove(evento.eventoId());
+            case STATUS -> {
+                if (evento.status() != StatusEvento.ATIVO) contadores.remove(evento.eventoId());
+            }
+            default -> { }
+        }
+    }
+
+    void registrar(Long eventoId, long agoraMs) {
+        Contadores doEvento = contadores.get(eventoId);
+        if (doEvento == null) {
+            // cheio: eventos novos só entram depois que a limpeza liberar espaço
+            if (contadores.size() >= maxEventos) return;
+            doEvento = contadores.computeIfAbsent(eventoId, id -> new Contadores());
+        }
+        doEvento.registrar(agoraMs);
+    }
+
+    /**
+     * IDs em ordem decrescente de inscrições na janela, no máximo {@code limite}.
+     */
+    public List<Long> topIds(Janela janela, int limite) {
+        List<Long> ids = top.get(janela);
+        return ids.subList(0, Math.min(limite, ids.size()));
+    }
+
+    public int tamanhoTop() {
+        return tamanhoTop;
+    }
+
+    @Scheduled(fixedDelayString = "${eventos.em-alta.intervalo-ms:10000}")
+    public void atualizarTop() {
+        atualizarTop(System.currentTimeMillis());
+    }
+
+    void atualizarTop(long agoraMs) {
+        Comparator<long[]> porContagem = Comparator.<long[]>comparingLong(par -> par[1]).thenComparingLong(par -> -par[0]);
+        PriorityQueue<long[]> hora = new PriorityQueue<>(porContagem);
+        PriorityQueue<long[]> dia = new PriorityQueue<>(porContagem);
+
+        for (Map.Entry<Long, Contadores> entrada : contadores.entrySet()) {
+            Contadores doEvento = entrada.getValue();
+            long noDia = doEvento.dia.total(agoraMs);
+            if (noDia == 0) {
+                // sem inscrições em 24h: libera a memória (remove só se ainda for o mesmo contador)
+                contadores.remove(entrada.getKey(), doEvento);
+                continue;
+            }
+            manterMaiores(dia, new long[]{entrada.getKey(), noDia});
+            long naHora = doEvento.hora.total(agoraMs);
+            if (naHora > 0) {
+                manterMaiores(hora, new long[]{entrada.getKey(), naHora});
+            }
+        }
+        Map<Janela, List<Long>> novo = new EnumMap<>(Janela.class);
+        novo.put(Janela.HORA, emOrdemDecrescente(hora));
+        novo.put(Janela.DIA, emOrdemDecrescente(dia));
+        top = novo;
+    }
+
+    // heap de mínimo com no máximo tamanhoTop elementos
+    private void manterMaiores(PriorityQueue<long[]> heap, long[] par) {
+        heap.offer(par);
+        if (heap.size() > tamanhoTop) {
+            heap.poll();
+        }
+    }
+
+    private static List<Long> emOrdemDecrescente(PriorityQueue<long[]> heap) {
+        Long[] ids = new Long[heap.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = heap.poll()[0];
+        }
+        return List.of(ids);
+    }
+
+    // hora: 60 baldes de 1 minuto; dia: 24 baldes de 1 hora
+    private static final class Contadores {
+        final JanelaDeslizante hora = new JanelaDeslizante(60, 60_000L);
+        final JanelaDeslizante dia = new JanelaDeslizante(24, 3_600_000L);
+
+        void registrar(long agoraMs) {
+            hora.registrar(agoraMs);
+            dia.registrar(agoraMs);
+        }
+    }
+}
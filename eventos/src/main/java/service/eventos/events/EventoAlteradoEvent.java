@@ -0,0 +1,18 @@
+package service.eventos.events;
+
+import service.eventos.model.StatusEvento;
+
+/**
+ * Publicado pelo {@code EventoService} sempre que um evento muda. Os ouvintes
+ * usam {@code @TransactionalEventListener}, então só recebem após o commit.
+ */
+public record EventoAlteradoEvent(Long eventoId, Tipo tipo, int vagas, StatusEvento status) {
+
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        INSCRICAO,
+        STATUS,
+        REMOVIDO
+    }
+}
@@ -0,0 +1,34 @@
+package service.eventos.events;
+
+import service.eventos.model.StatusEvento;
+
+import java.util.UUID;
+
+/**
+ * Variação nos agregados de um organizador causada por uma alteração de evento.
+ * Aplicada em organizador_resumo depois do commit.
+ */
+public record ResumoOrganizadorDeltaEvent(UUID organizerId, int eventos, int inscricoes, int capacidade, int esgotados) {
+
+    // quanto um evento soma nos agregados do seu organizador
+    public static ResumoOrganizadorDeltaEvent contribuicao(UUID organizerId, int capacidade, int inscritos, StatusEvento status) {
+        int esgotado = status == StatusEvento.ATIVO && inscritos >= capacidade ? 1 : 0;
+        return new ResumoOrganizadorDeltaEvent(organizerId, 1, inscritos, capacidade, esgotado);
+    }
+
+    public ResumoOrganizadorDeltaEvent menos(ResumoOrganizadorDeltaEvent antes) {
+        return new ResumoOrganizadorDeltaEvent(organizerId,
+                eventos - antes.eventos,
+                inscricoes - antes.inscricoes,
+                capacidade - antes.capacidade,
+                esgotados - antes.esgotados);
+    }
+
+    public ResumoOrganizadorDeltaEvent negativo() {
+        return new ResumoOrganizadorDeltaEvent(organizerId, -eventos, -inscricoes, -capacidade, -esgotados);
+    }
+
+    public boolean vazio() {
+        return eventos == 0 && inscricoes == 0 && capacidade == 0 && esgotados == 0;
+    }
+}
@@ -0,0 +1,11 @@
+package service.eventos.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class ChaveIdempotenciaConflitanteException extends RuntimeException {
+    public ChaveIdempotenciaConflitanteException(String message) {
+        super(message);
+    }
+}
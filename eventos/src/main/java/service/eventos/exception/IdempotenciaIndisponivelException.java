@@ -0,0 +1,19 @@
+package service.eventos.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// 503 com Retry-After, como o ConcurrencyLimitFilter: o cliente repete com a mesma chave
+public class IdempotenciaIndisponivelException extends ResponseStatusException {
+    public IdempotenciaIndisponivelException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
@@ -0,0 +1,11 @@
+package service.eventos.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RequisicaoEmProcessamentoException extends RuntimeException {
+    public RequisicaoEmProcessamentoException(String message) {
+        super(message);
+    }
+}
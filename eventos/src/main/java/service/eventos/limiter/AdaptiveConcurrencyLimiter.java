@@ -0,0 +1,137 @@
+package service.eventos.limiter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite de concorrência adaptativo (algoritmo de gradiente).
+ * <p>
+ * As requisições concluídas só acumulam a latência num lote, sem lock. A cada
+ * {@code AMOSTRAS_POR_LOTE} amostras, uma única thread (quem fechar o lote)
+ * compara a latência média do lote com a menor latência da janela recente: se
+ * subiu além da tolerância o limite cai (até a metade), se está estável e o
+ * limite está sendo usado ele cresce em sqrt(limite). Quem chega com o limite
+ * esgotado é rejeitado na hora, sem fila.
+ * <p>
+ * A menor latência é a mínima dos últimos {@code LOTES_POR_JANELA} lotes: a
+ * base acompanha mudanças (ex: banco mais lento) sem nunca ser trocada por uma
+ * amostra isolada, que sob carga seria lenta e empurraria o limite para cima.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SUAVIZACAO = 0.2;
+    static final int AMOSTRAS_POR_LOTE = 20;
+    static final int LOTES_POR_JANELA = 25;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double tolerancia;
+
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final LongAdder rejeicoes = new LongAdder();
+    // fracionário para que o crescimento suavizado não trave em limites pequenos
+    private volatile double limite;
+
+    // lote em formação, alimentado sem lock por liberar(); aproximado, já que
+    // amostras concorrentes com o fechamento podem cair no lote seguinte
+    private final AtomicInteger amostrasNoLote = new AtomicInteger();
+    private final LongAdder somaRttLote = new LongAdder();
+    private final AtomicLong menorRttLote = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicInteger maiorEmVooLote = new AtomicInteger();
+    private final AtomicBoolean ajustando = new AtomicBoolean();
+
+    // só tocados por quem está em ajustar() (garantido por "ajustando")
+    private final long[] minimosDosLotes = new long[LOTES_POR_JANELA];
+    private int proximoLote;
+
+    public AdaptiveConcurrencyLimiter(int limiteInicial, int limiteMinimo, int limiteMaximo, double tolerancia) {
+        if (limiteMinimo < 1 || limiteMinimo > limiteInicial || limiteInicial > limiteMaximo || tolerancia < 1) {
+            throw new IllegalArgumentException("Configuração de limite de concorrência inválida.");
+        }
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.tolerancia = tolerancia;
+        Arrays.fill(minimosDosLotes, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return false se o limite atual já está ocupado (a requisição deve ser descartada)
+     */
+    public boolean tentarAdquirir() {
+        while (true) {
+            int atual = emVoo.get();
+            if (atual >= (int) limite) {
+                rejeicoes.increment();
+                return false;
+            }
+            if (emVoo.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga e alimenta o algoritmo com a latência medida.
+     */
+    public void liberar(long rttNanos) {
+        int emVooAntes = emVoo.getAndDecrement();
+        long rtt = Math.max(1, rttNanos);
+        somaRttLote.add(rtt);
+        menorRttLote.accumulateAndGet(rtt, Math::min);
+        maiorEmVooLote.accumulateAndGet(emVooAntes, Math::max);
+        if (amostrasNoLote.incrementAndGet() >= AMOSTRAS_POR_LOTE && ajustando.compareAndSet(false, true)) {
+            try {
+                ajustar();
+            } finally {
+                ajustando.set(false);
+            }
+        }
+    }
+
+    private void ajustar() {
+        int amostras = amostrasNoLote.getAndSet(0);
+        if (amostras < AMOSTRAS_POR_LOTE) {
+            // outra thread fechou este lote entre o incremento e o compareAndSet
+            amostrasNoLote.addAndGet(amostras);
+            return;
+        }
+        long rttMedio = Math.max(1, somaRttLote.sumThenReset() / amostras);
+        long menorDoLote = menorRttLote.getAndSet(Long.MAX_VALUE);
+        int maiorEmVoo = maiorEmVooLote.getAndSet(0);
+
+        minimosDosLotes[proximoLote] = menorDoLote;
+        proximoLote = (proximoLote + 1) % LOTES_POR_JANELA;
+        long rttMinimo = Long.MAX_VALUE;
+        for (long minimo : minimosDosLotes) {
+            rttMinimo = Math.min(rttMinimo, minimo);
+        }
+
+        double atual = limite;
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttMinimo / rttMedio));
+        double novoLimite = atual * gradiente + Math.sqrt(atual);
+
+        // sem pressão (menos da metade em uso durante todo o lote) não há por que crescer
+        if (novoLimite > atual && maiorEmVoo < atual / 2) {
+            return;
+        }
+
+        novoLimite = atual * (1 - SUAVIZACAO) + novoLimite * SUAVIZACAO;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, novoLimite));
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEmVoo() {
+        return emVoo.get();
+    }
+
+    public long getRejeicoes() {
+        return rejeicoes.sum();
+    }
+}
@@ -0,0 +1,113 @@
+package service.eventos.limiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load shedding no caminho de inscrição (e, opcionalmente, nas listagens):
+ * com o limite adaptativo esgotado a requisição recebe 503 imediatamente,
+ * em vez de segurar uma thread do Tomcat esperando banco ou ingressos-service.
+ * A latência medida é a da requisição inteira, dominada por
+ * {@code EventoService.inscreverEmEvento}.
+ * Roda depois do {@link RateLimitFilter}: quem já estourou a cota não ocupa vaga.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 20)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<Rota> rotas = new ArrayList<>();
+
+    public ConcurrencyLimitFilter(Environment env, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (env.getProperty("eventos.concurrency.inscrever.habilitado", Boolean.class, true)) {
+            AdaptiveConcurrencyLimiter inscrever = criarLimiter(env, "inscrever");
+            rotas.add(new Rota("POST", "/eventos/*/inscrever", "inscrever", inscrever));
+        }
+        if (env.getProperty("eventos.concurrency.listagem.habilitado", Boolean.class, false)) {
+            AdaptiveConcurrencyLimiter listagem = criarLimiter(env, "listagem");
+            rotas.add(new Rota("GET", "/eventos", "listagem", listagem));
+            rotas.add(new Rota("GET", "/eventos/minhas-inscricoes", "listagem", listagem));
+            rotas.add(new Rota("GET", "/eventos/meus-eventos", "listagem", listagem));
+        }
+        meterRegistry.ifAvailable(this::registrarMetricas);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rotaDe(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = rotaDe(request).limiter();
+        if (!limiter.tentarAdquirir()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Serviço sobrecarregado. Tente novamente em instantes.");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.liberar(System.nanoTime() - inicio);
+        }
+    }
+
+    private Rota rotaDe(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rota rota : rotas) {
+            if (rota.metodo().equals(request.getMethod()) && matcher.match(rota.padrao(), caminho)) {
+                return rota;
+            }
+        }
+        return null;
+    }
+
+    private static AdaptiveConcurrencyLimiter criarLimiter(Environment env, String nome) {
+        String prefixo = "eventos.concurrency." + nome + ".";
+        return new AdaptiveConcurrencyLimiter(
+                env.getProperty(prefixo + "limite-inicial", Integer.class, 20),
+                env.getProperty(prefixo + "limite-minimo", Integer.class, 2),
+                env.getProperty(prefixo + "limite-maximo", Integer.class, 200),
+                env.getProperty(prefixo + "tolerancia", Double.class, 2.0)
+        );
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+        rotas.stream().map(Rota::nome).distinct().forEach(nome -> {
+            AdaptiveConcurrencyLimiter limiter = rotas.stream()
+                    .filter(r -> r.nome().equals(nome)).findFirst().orElseThrow().limiter();
+            Gauge.builder("eventos.concurrency.limite", limiter, AdaptiveConcurrencyLimiter::getLimite)
+                    .tag("rota", nome).register(registry);
+            Gauge.builder("eventos.concurrency.em-voo", limiter, AdaptiveConcurrencyLimiter::getEmVoo)
+                    .tag("rota", nome).register(registry);
+            FunctionCounter.builder("eventos.concurrency.rejeicoes", limiter, AdaptiveConcurrencyLimiter::getRejeicoes)
+                    .tag("rota", nome).register(registry);
+        });
+    }
+
+    private record Rota(String metodo, String padrao, String nome, AdaptiveConcurrencyLimiter limiter) {
+    }
+}
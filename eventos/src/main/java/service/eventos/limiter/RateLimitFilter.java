@@ -0,0 +1,134 @@
+package service.eventos.limiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import service.eventos.Security.UsuarioGateway;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit por usuário (X-User-Id) e rota nos endpoints de escrita.
+ * Roda como filtro de servlet, então a requisição é barrada com 429 antes de
+ * qualquer leitura de body, validação, service ou acesso ao banco.
+ * Ordem explícita: depois da cadeia do Spring Security, que preenche o
+ * SecurityContext usado para identificar o usuário.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final List<Rota> ROTAS = List.of(
+            new Rota("POST", "/eventos/*/inscrever", "inscrever"),
+            new Rota("POST", "/eventos/criar-evento", "criar-evento"),
+            new Rota("PUT", "/eventos/*", "atualizar-evento")
+    );
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final boolean habilitado;
+    private final TokenBucket.Limite limitePadrao;
+    private final Map<String, TokenBucket.Limite> limitesPorPapel;
+    private final TokenBucketRateLimiter limiter;
+
+    public RateLimitFilter(
+            @Value("${eventos.rate-limit.habilitado:true}") boolean habilitado,
+            @Value("${eventos.rate-limit.padrao:10/1}") String limitePadrao,
+            @Value("${eventos.rate-limit.papeis:}") String limitesPorPapel,
+            @Value("${eventos.rate-limit.max-buckets:100000}") int maxBuckets
+    ) {
+        this.habilitado = habilitado;
+        this.limitePadrao = TokenBucket.Limite.parse(limitePadrao);
+        this.limitesPorPapel = parsePapeis(limitesPorPapel);
+        this.limiter = new TokenBucketRateLimiter(maxBuckets);
+    }
+
+    // sem isso os buckets ociosos só sairiam do mapa quando ele enchesse
+    @Scheduled(fixedDelayString = "${eventos.rate-limit.limpeza-ms:60000}")
+    public void removerBucketsOciosos() {
+        limiter.removerOciosos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || rotaDe(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // roda depois da cadeia do Spring Security, que já montou o usuário a partir dos headers
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof UsuarioGateway usuario)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Rota rota = rotaDe(request);
+        TokenBucket.Limite limite = limiteDe(usuario);
+        long esperaNanos = limiter.tentarConsumir(usuario.id() + "|" + rota.nome(), limite);
+        if (esperaNanos > 0) {
+            long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Muitas requisições. Tente novamente em " + segundos + " segundo(s).");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Rota rotaDe(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rota rota : ROTAS) {
+            if (rota.metodo().equals(request.getMethod()) && matcher.match(rota.padrao(), caminho)) {
+                return rota;
+            }
+        }
+        return null;
+    }
+
+    // se o usuário tem mais de um papel configurado, vale o limite mais generoso
+    private TokenBucket.Limite limiteDe(UsuarioGateway usuario) {
+        TokenBucket.Limite escolhido = null;
+        for (String papel : usuario.papeis()) {
+            TokenBucket.Limite limite = limitesPorPapel.get(papel);
+            if (limite != null && (escolhido == null || limite.porSegundo() > escolhido.porSegundo())) {
+                escolhido = limite;
+            }
+        }
+        return escolhido != null ? escolhido : limitePadrao;
+    }
+
+    // formato "PAPEL:capacidade/porSegundo,PAPEL:capacidade/porSegundo"
+    private static Map<String, TokenBucket.Limite> parsePapeis(String valor) {
+        Map<String, TokenBucket.Limite> limites = new HashMap<>();
+        if (valor == null || valor.isBlank()) return limites;
+        for (String item : valor.split(",")) {
+            String[] partes = item.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Limite por papel deve ter o formato PAPEL:capacidade/porSegundo: " + item);
+            }
+            limites.put(partes[0].trim().toUpperCase(), TokenBucket.Limite.parse(partes[1]));
+        }
+        return limites;
+    }
+
+    private record Rota(String metodo, String padrao, String nome) {
+    }
+}
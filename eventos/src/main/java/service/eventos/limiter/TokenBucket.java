@@ -0,0 +1,70 @@
+package service.eventos.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock, implementado no formato GCRA: em vez de guardar
+ * "tokens restantes" + "último refill", guardamos um único instante teórico
+ * (tat) em que o bucket estaria cheio de novo. Um CAS nesse long basta.
+ */
+final class TokenBucket {
+
+    private final AtomicLong tat;
+
+    TokenBucket(long agora) {
+        this.tat = new AtomicLong(agora);
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @return 0 se consumiu, senão quantos nanos faltam para o próximo token
+     */
+    long tentarConsumir(long agora, Limite limite) {
+        while (true) {
+            long atual = tat.get();
+            long base = Math.max(atual, agora);
+            long espera = base - agora - limite.toleranciaNanos();
+            if (espera > 0) {
+                return espera;
+            }
+            if (tat.compareAndSet(atual, base + limite.intervaloNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    // bucket cheio é indistinguível de um bucket novo, então pode ser descartado
+    boolean ocioso(long agora) {
+        return tat.get() <= agora;
+    }
+
+    /**
+     * Capacidade (rajada) e taxa de reposição em tokens por segundo.
+     */
+    record Limite(int capacidade, double porSegundo) {
+
+        Limite {
+            if (capacidade < 1 || porSegundo <= 0) {
+                throw new IllegalArgumentException("Limite inválido: " + capacidade + "/" + porSegundo);
+            }
+        }
+
+        long intervaloNanos() {
+            return (long) (1_000_000_000L / porSegundo);
+        }
+
+        long toleranciaNanos() {
+            return intervaloNanos() * (capacidade - 1);
+        }
+
+        // formato "capacidade/porSegundo", ex: "10/2" ou "5/0.5"
+        static Limite parse(String valor) {
+            String[] partes = valor.trim().split("/");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Limite deve ter o formato capacidade/porSegundo: " + valor);
+            }
+            return new Limite(Integer.parseInt(partes[0].trim()), Double.parseDouble(partes[1].trim()));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package service.eventos.limiter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Conjunto de token buckets em memória, indexados por chave (usuário + rota).
+ * A memória é limitada por {@code maxBuckets}: os buckets ociosos (já cheios)
+ * são descartados periodicamente e ao atingir o limite. Se mesmo assim não há
+ * espaço, as chaves novas dividem um único bucket de transbordo; trocar de
+ * X-User-Id para encher o mapa não desliga o limite de ninguém.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final LongSupplier relogio;
+    private final TokenBucket transbordo;
+
+    public TokenBucketRateLimiter(int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int maxBuckets, LongSupplier relogio) {
+        this.maxBuckets = maxBuckets;
+        this.relogio = relogio;
+        this.transbordo = new TokenBucket(relogio.getAsLong());
+    }
+
+    /**
+     * @return 0 se a requisição pode seguir, senão quantos nanos o cliente deve esperar
+     */
+    public long tentarConsumir(String chave, TokenBucket.Limite limite) {
+        long agora = relogio.getAsLong();
+        TokenBucket bucket = buckets.get(chave);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                removerOciosos(agora);
+                // todos os buckets ativos: a chave nova cai no bucket compartilhado
+                if (buckets.size() >= maxBuckets) {
+                    return transbordo.tentarConsumir(agora, limite);
+                }
+            }
+            bucket = buckets.computeIfAbsent(chave, k -> new TokenBucket(agora));
+        }
+        return bucket.tentarConsumir(agora, limite);
+    }
+
+    public void removerOciosos() {
+        removerOciosos(relogio.getAsLong());
+    }
+
+    // Uma thread pode ainda estar usando um bucket removido aqui; como ele estava
+    // cheio, no pior caso um único token deixa de ser contabilizado.
+    void removerOciosos(long agora) {
+        buckets.values().removeIf(bucket -> bucket.ocioso(agora));
+    }
+
+    int tamanho() {
+        return buckets.size();
+    }
+}
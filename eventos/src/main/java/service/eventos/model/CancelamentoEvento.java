@@ -0,0 +1,50 @@
+package service.eventos.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progresso da liberação dos ingressos de um evento cancelado.
+ */
+@Entity
+@Table(name = "cancelamentos_evento")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CancelamentoEvento {
+    @Id
+    private Long eventoId;
+
+    @Column(nullable = false)
+    private UUID organizerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusCancelamento status;
+
+    @Column(nullable = false)
+    private Integer totalParticipantes;
+
+    @Column(nullable = false)
+    private Integer processados;
+
+    // cursor: último participante já enviado ao ingressos-service
+    private UUID ultimoParticipante;
+
+    @Column(nullable = false)
+    private Integer tentativas;
+
+    @Column(columnDefinition = "TEXT")
+    private String ultimoErro;
+
+    private LocalDateTime bloqueadoAte;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(nullable = false)
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,48 @@
+package service.eventos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ingresso a emitir para um participante promovido da lista de espera, gravado
+ * na mesma transação da inscrição e emitido depois do commit.
+ */
+@Entity
+@Table(name = "emissoes_ingresso")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EmissaoIngresso {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventoId;
+
+    @Column(nullable = false)
+    private UUID participanteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusEmissaoIngresso status;
+
+    @Column(nullable = false)
+    private Integer tentativas;
+
+    @Column(columnDefinition = "TEXT")
+    private String ultimoErro;
+
+    private LocalDateTime bloqueadoAte;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(nullable = false)
+    private LocalDateTime atualizadoEm;
+}
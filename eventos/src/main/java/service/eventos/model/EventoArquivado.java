@@ -0,0 +1,56 @@
+package service.eventos.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evento movido para o arquivo frio pelo ArquivamentoEventosJob. Somente leitura.
+ */
+@Entity
+@Table(name = "eventos_arquivo")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EventoArquivado {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String nome;
+
+    @Column(columnDefinition = "TEXT")
+    private String descricao;
+
+    @Column(nullable = false)
+    private String localizacao;
+
+    @Column(nullable = false)
+    private LocalDateTime data;
+
+    @Column(nullable = false)
+    private Integer capacidade;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusEvento status;
+
+    @Column(nullable = false)
+    private UUID organizerId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "categoria_id", nullable = false)
+    private Categoria categoria;
+
+    @Column(nullable = false)
+    private LocalDateTime arquivadoEm;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "evento_participantes_arquivo", joinColumns = @JoinColumn(name = "evento_id"))
+    @Column(name = "participante_id")
+    private Set<UUID> participanteId = new HashSet<>();
+}
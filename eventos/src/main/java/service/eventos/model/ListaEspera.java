@@ -0,0 +1,30 @@
+package service.eventos.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Uma posição na lista de espera de um evento lotado.
+ */
+@Entity
+@Table(name = "lista_espera")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ListaEspera {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventoId;
+
+    @Column(nullable = false)
+    private UUID participanteId;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    private LocalDateTime entrouEm;
+}
@@ -0,0 +1,35 @@
+package service.eventos.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Agregados de um organizador, mantidos incrementalmente (ver organizador_resumo).
+ */
+@Entity
+@Table(name = "organizador_resumo")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ResumoOrganizador {
+    @Id
+    private UUID organizerId;
+
+    @Column(nullable = false)
+    private Long totalEventos;
+
+    @Column(nullable = false)
+    private Long totalInscricoes;
+
+    @Column(nullable = false)
+    private Long capacidadeTotal;
+
+    @Column(nullable = false)
+    private Long esgotadosAtivos;
+
+    @Column(nullable = false)
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,8 @@
+package service.eventos.model;
+
+public enum StatusEmissaoIngresso {
+    PENDENTE,
+    EMITIDO,
+    // desistiu após max-tentativas falhas seguidas do ingressos-service; ver ultimoErro
+    FALHOU
+}
@@ -0,0 +1,25 @@
+package service.eventos.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import service.eventos.model.CancelamentoEvento;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CancelamentoEventoRepository extends JpaRepository<CancelamentoEvento, Long> {
+
+    // próximo cancelamento sem reserva válida, o menos recentemente atendido primeiro;
+    // SKIP LOCKED evita duas réplicas no mesmo
+    @Query(value = """
+            select evento_id from cancelamentos_evento
+            where status = 'EM_ANDAMENTO' and (bloqueado_ate is null or bloqueado_ate < :agora)
+            order by atualizado_em
+            limit 1
+            for update skip locked
+            """, nativeQuery = true)
+    Optional<Long> buscarProximoPendente(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,38 @@
+package service.eventos.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import service.eventos.model.EmissaoIngresso;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmissaoIngressoRepository extends JpaRepository<EmissaoIngresso, Long> {
+
+    // uma emissão por posição promovida da lista de espera
+    @Modifying
+    @Query(value = """
+            insert into emissoes_ingresso (evento_id, participante_id, status, tentativas, criado_em, atualizado_em)
+            select evento_id, participante_id, 'PENDENTE', 0, now(), now() from lista_espera where id in (:ids)
+            """, nativeQuery = true)
+    int registrar(@Param("ids") Collection<Long> ids);
+
+    // pendentes sem reserva válida, na ordem da promoção; SKIP LOCKED evita duas réplicas na mesma
+    @Query(value = """
+            select id from emissoes_ingresso
+            where status = 'PENDENTE' and (bloqueado_ate is null or bloqueado_ate < :agora)
+            order by id
+            limit :limite
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> buscarPendentes(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
+
+    @Modifying
+    @Query("update EmissaoIngresso e set e.bloqueadoAte = :ate where e.id in :ids")
+    int reservar(@Param("ids") Collection<Long> ids, @Param("ate") LocalDateTime ate);
+}
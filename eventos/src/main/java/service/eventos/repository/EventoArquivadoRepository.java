@@ -0,0 +1,61 @@
+package service.eventos.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import service.eventos.model.EventoArquivado;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventoArquivadoRepository extends JpaRepository<EventoArquivado, Long> {
+
+    Page<EventoArquivado> findByParticipanteIdContains(UUID participanteId, Pageable pageable);
+
+    // Operações do arquivamento: copiar e remover são idempotentes, então um lote
+    // interrompido pode simplesmente ser refeito.
+
+    @Query(value = """
+            select id from eventos
+            where status in ('CONCLUIDO', 'CANCELADO') and data < :limite
+              and not exists (select 1 from cancelamentos_evento c
+                              where c.evento_id = eventos.id and c.status = 'EM_ANDAMENTO')
+            order by data
+            limit :lote
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> buscarIdsParaArquivar(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+    @Modifying
+    @Query(value = """
+            insert into eventos_arquivo (id, nome, descricao, localizacao, data, capacidade, status, organizer_id, categoria_id)
+            select id, nome, descricao, localizacao, data, capacidade, status, organizer_id, categoria_id
+            from eventos where id in (:ids)
+            on conflict (id) do nothing
+            """, nativeQuery = true)
+    int copiarEventos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = """
+            insert into evento_participantes_arquivo (evento_id, participante_id, inscrito_em)
+            select evento_id, participante_id, inscrito_em
+            from evento_participantes where evento_id in (:ids)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int copiarParticipantes(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from evento_participantes where evento_id in (:ids)", nativeQuery = true)
+    int removerParticipantesAtivos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from eventos where id in (:ids)", nativeQuery = true)
+    int removerEventosAtivos(@Param("ids") Collection<Long> ids);
+}
@@ -1,20 +1,120 @@
 package service.eventos.repository;
 
+import jakarta.persistence.LockModeType;
 import service.eventos.model.Evento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import service.eventos.model.StatusEvento;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface EventoRepository extends JpaRepository<Evento, Long> {
+public interface EventoRepository extends JpaRepository<Evento, Long>, JpaSpecificationExecutor<Evento> {
 
     Page<Evento> findByOrganizerId(UUID organizerId, Pageable pageable);
 
     Page<Evento> findByParticipanteIdContains(UUID participanteId, Pageable pageable);
 
     Page<Evento> findByStatus(StatusEvento status, Pageable pageable);
+
+    // trava de job entre réplicas; liberada sozinha no fim da transação
+    @Query(value = "select pg_try_advisory_xact_lock(:chave)", nativeQuery = true)
+    boolean tentarTravaDeJob(@Param("chave") long chave);
+
+    // lote de eventos ativos já realizados; SKIP LOCKED não espera linhas presas por inscrições em curso
+    @Query(value = """
+            select id from eventos
+            where status = 'ATIVO' and data < :limite
+            order by data
+            limit :lote
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> buscarIdsAtivosRealizadosAte(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+    @Modifying
+    @Query("update Evento e set e.status = :status where e.id in :ids")
+    int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusEvento status);
+
+    // transição condicional: 0 se o evento já saiu de "de" (outra transação chegou antes)
+    @Modifying
+    @Query("update Evento e set e.status = :para where e.id = :id and e.status = :de")
+    int trocarStatus(@Param("id") Long id, @Param("de") StatusEvento de, @Param("para") StatusEvento para);
+
+    Optional<EventoResumo> findResumoById(Long id);
+
+    // inscrição direta: trava a linha do evento (select ... for update), serializando com a
+    // promoção da lista de espera e com o cancelamento, que também escrevem nessa linha
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Evento e where e.id = :id")
+    Optional<Evento> buscarComTrava(@Param("id") Long id);
+
+    // só as colunas de texto, para o índice de sugestões
+    // limitado: com mais eventos que o índice comporta, ficam os mais próximos
+    List<EventoTexto> findTextoByStatusOrderByDataAsc(StatusEvento status, Limit limite);
+
+    Optional<EventoTexto> findTextoById(Long id);
+
+    @Query(value = "select count(*) from evento_participantes where evento_id = :eventoId", nativeQuery = true)
+    int contarParticipantes(@Param("eventoId") Long eventoId);
+
+    @Query(value = """
+            select exists (select 1 from evento_participantes
+                           where evento_id = :eventoId and participante_id = :participanteId)
+            """, nativeQuery = true)
+    boolean estaInscrito(@Param("eventoId") Long eventoId, @Param("participanteId") UUID participanteId);
+
+    // trava a linha do evento para a promoção da lista de espera; vazio se não está ATIVO ou outra réplica já pegou
+    @Query(value = "select capacidade from eventos where id = :id and status = 'ATIVO' for update skip locked", nativeQuery = true)
+    Optional<Integer> travarEventoAtivo(@Param("id") Long id);
+
+    // paginação por cursor sobre a chave (evento_id, participante_id), sem carregar o conjunto inteiro
+    @Query(value = """
+            select participante_id from evento_participantes
+            where evento_id = :eventoId and participante_id > :depoisDe
+            order by participante_id
+            limit :lote
+            """, nativeQuery = true)
+    List<UUID> buscarParticipantesApos(@Param("eventoId") Long eventoId,
+                                       @Param("depoisDe") UUID depoisDe,
+                                       @Param("lote") int lote);
+
+    // listagem de participantes por cursor (inscrito_em, participante_id), no índice idx_evento_participantes_inscricao
+    @Query(value = """
+            select participante_id as participanteId, inscrito_em as inscritoEm
+            from evento_participantes
+            where evento_id = :eventoId
+            order by inscrito_em, participante_id
+            limit :limite
+            """, nativeQuery = true)
+    List<ParticipanteInscrito> buscarPrimeirosParticipantes(@Param("eventoId") Long eventoId, @Param("limite") int limite);
+
+    @Query(value = """
+            select participante_id as participanteId, inscrito_em as inscritoEm
+            from evento_participantes
+            where evento_id = :eventoId
+              and (inscrito_em, participante_id) > (:inscritoEm, :participanteId)
+            order by inscrito_em, participante_id
+            limit :limite
+            """, nativeQuery = true)
+    List<ParticipanteInscrito> buscarParticipantesAposCursor(@Param("eventoId") Long eventoId,
+                                                             @Param("inscritoEm") LocalDateTime inscritoEm,
+                                                             @Param("participanteId") UUID participanteId,
+                                                             @Param("limite") int limite);
+
+    // um único IN com categoria e participantes no mesmo select, sem N+1
+    @EntityGraph(attributePaths = {"categoria", "participanteId"})
+    List<Evento> findByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package service.eventos.repository;
+
+import service.eventos.model.StatusEvento;
+
+import java.util.UUID;
+
+/**
+ * Projeção com as colunas simples de um evento, sem carregar os participantes.
+ */
+public interface EventoResumo {
+    Long getId();
+
+    UUID getOrganizerId();
+
+    StatusEvento getStatus();
+
+    Integer getCapacidade();
+}
@@ -0,0 +1,60 @@
+package service.eventos.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import service.eventos.dto.FiltroEventosDto;
+import service.eventos.model.Evento;
+import service.eventos.model.StatusEvento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Consultas do catálogo. Os predicados seguem os índices em db/migration:
+ * status, depois categoria, depois data (B-tree); lower(localizacao) usa o GIN
+ * de trigramas parcial em ATIVO, que também cobre categoria (V7), e as
+ * estatísticas da expressão (V9). O plano de cada filtro está em
+ * src/test/resources/benchmark/catalogo-explain.sql.
+ */
+public final class EventoSpecifications {
+
+    private EventoSpecifications() {
+    }
+
+    public static Specification<Evento> disponiveis(FiltroEventosDto filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            // literal, não parâmetro: no plano genérico do prepared statement o Postgres só usa
+            // o índice parcial (WHERE status = 'ATIVO') se o predicado estiver no próprio SQL
+            predicados.add(cb.equal(root.get("status"), cb.literal(StatusEvento.ATIVO)));
+
+            if (filtro.getCategoriaId() != null) {
+                predicados.add(cb.equal(root.get("categoria").get("id"), filtro.getCategoriaId()));
+            }
+            if (filtro.getLocalizacao() != null && !filtro.getLocalizacao().isBlank()) {
+                String prefixo = escaparLike(filtro.getLocalizacao().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicados.add(cb.like(cb.lower(root.get("localizacao")), prefixo, '\\'));
+            }
+            if (filtro.getDataInicio() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.get("data"), filtro.getDataInicio()));
+            }
+            if (filtro.getDataFim() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.get("data"), filtro.getDataFim()));
+            }
+            // filtro residual: aplicado só sobre as linhas que os índices acima já selecionaram
+            if (Boolean.TRUE.equals(filtro.getComVagas())) {
+                predicados.add(cb.lessThan(
+                        cb.size(root.<Set<UUID>>get("participanteId")),
+                        root.<Integer>get("capacidade")));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
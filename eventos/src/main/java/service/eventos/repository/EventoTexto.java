@@ -0,0 +1,16 @@
+package service.eventos.repository;
+
+import service.eventos.model.StatusEvento;
+
+/**
+ * Projeção com os textos pesquisáveis de um evento.
+ */
+public interface EventoTexto {
+    Long getId();
+
+    String getNome();
+
+    String getLocalizacao();
+
+    StatusEvento getStatus();
+}
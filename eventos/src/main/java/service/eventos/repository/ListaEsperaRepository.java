@@ -0,0 +1,66 @@
+package service.eventos.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import service.eventos.model.ListaEspera;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ListaEsperaRepository extends JpaRepository<ListaEspera, Long> {
+
+    // repetir o pedido não cria uma segunda posição
+    @Modifying
+    @Query(value = """
+            insert into lista_espera (evento_id, participante_id)
+            values (:eventoId, :participanteId)
+            on conflict (evento_id, participante_id) do nothing
+            """, nativeQuery = true)
+    int entrar(@Param("eventoId") Long eventoId, @Param("participanteId") UUID participanteId);
+
+    boolean existsByEventoId(Long eventoId);
+
+    // 1 = próximo a ser promovido; 0 = fora da lista
+    @Query(value = """
+            select count(*) from lista_espera l
+            where l.evento_id = :eventoId
+              and l.id <= (select id from lista_espera where evento_id = :eventoId and participante_id = :participanteId)
+            """, nativeQuery = true)
+    int posicao(@Param("eventoId") Long eventoId, @Param("participanteId") UUID participanteId);
+
+    // eventos ATIVO com fila e com vaga sobrando
+    @Query(value = """
+            select e.id from eventos e
+            where e.status = 'ATIVO'
+              and exists (select 1 from lista_espera l where l.evento_id = e.id)
+              and e.capacidade > (select count(*) from evento_participantes p where p.evento_id = e.id)
+            limit :limite
+            """, nativeQuery = true)
+    List<Long> buscarEventosParaPromover(@Param("limite") int limite);
+
+    @Query(value = """
+            select * from lista_espera
+            where evento_id = :eventoId
+            order by id
+            limit :limite
+            for update skip locked
+            """, nativeQuery = true)
+    List<ListaEspera> buscarFrente(@Param("eventoId") Long eventoId, @Param("limite") int limite);
+
+    @Modifying
+    @Query(value = """
+            insert into evento_participantes (evento_id, participante_id)
+            select evento_id, participante_id from lista_espera where id in (:ids)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int inscrever(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from lista_espera where id in (:ids)", nativeQuery = true)
+    int remover(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,13 @@
+package service.eventos.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Uma linha de evento_participantes com o momento da inscrição.
+ */
+public interface ParticipanteInscrito {
+    UUID getParticipanteId();
+
+    LocalDateTime getInscritoEm();
+}
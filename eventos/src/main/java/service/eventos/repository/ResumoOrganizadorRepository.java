@@ -0,0 +1,86 @@
+package service.eventos.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import service.eventos.model.ResumoOrganizador;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface ResumoOrganizadorRepository extends JpaRepository<ResumoOrganizador, UUID> {
+
+    @Modifying
+    @Query(value = """
+            insert into organizador_resumo
+                (organizer_id, total_eventos, total_inscricoes, capacidade_total, esgotados_ativos, atualizado_em)
+            values (:organizerId, :eventos, :inscricoes, :capacidade, :esgotados, now())
+            on conflict (organizer_id) do update set
+                total_eventos = organizador_resumo.total_eventos + excluded.total_eventos,
+                total_inscricoes = organizador_resumo.total_inscricoes + excluded.total_inscricoes,
+                capacidade_total = organizador_resumo.capacidade_total + excluded.capacidade_total,
+                esgotados_ativos = organizador_resumo.esgotados_ativos + excluded.esgotados_ativos,
+                atualizado_em = excluded.atualizado_em
+            """, nativeQuery = true)
+    void aplicarDelta(@Param("organizerId") UUID organizerId,
+                      @Param("eventos") int eventos,
+                      @Param("inscricoes") int inscricoes,
+                      @Param("capacidade") int capacidade,
+                      @Param("esgotados") int esgotados);
+
+    // antes de um lote de eventos sair de ATIVO: tira os esgotados dele da contagem
+    @Modifying
+    @Query(value = """
+            update organizador_resumo r
+            set esgotados_ativos = r.esgotados_ativos - x.n, atualizado_em = now()
+            from (
+                select e.organizer_id, count(*) as n
+                from eventos e
+                where e.id in (:ids) and e.status = 'ATIVO'
+                  and e.capacidade <= (select count(*) from evento_participantes p where p.evento_id = e.id)
+                group by e.organizer_id
+            ) x
+            where r.organizer_id = x.organizer_id
+            """, nativeQuery = true)
+    int descontarEsgotados(@Param("ids") Collection<Long> ids);
+
+    // recálculo completo por conjunto, eventos quentes e arquivados
+    @Modifying
+    @Query(value = """
+            insert into organizador_resumo
+                (organizer_id, total_eventos, total_inscricoes, capacidade_total, esgotados_ativos, atualizado_em)
+            select t.organizer_id, count(*), sum(t.inscritos), sum(t.capacidade),
+                   count(*) filter (where t.esgotado), now()
+            from (
+                select e.organizer_id, e.capacidade, coalesce(p.n, 0) as inscritos,
+                       (e.status = 'ATIVO' and coalesce(p.n, 0) >= e.capacidade) as esgotado
+                from eventos e
+                left join (select evento_id, count(*) as n from evento_participantes group by evento_id) p
+                       on p.evento_id = e.id
+                union all
+                select a.organizer_id, a.capacidade, coalesce(p.n, 0), false
+                from eventos_arquivo a
+                left join (select evento_id, count(*) as n from evento_participantes_arquivo group by evento_id) p
+                       on p.evento_id = a.id
+            ) t
+            group by t.organizer_id
+            on conflict (organizer_id) do update set
+                total_eventos = excluded.total_eventos,
+                total_inscricoes = excluded.total_inscricoes,
+                capacidade_total = excluded.capacidade_total,
+                esgotados_ativos = excluded.esgotados_ativos,
+                atualizado_em = excluded.atualizado_em
+            """, nativeQuery = true)
+    int recalcularTodos();
+
+    @Modifying
+    @Query(value = """
+            delete from organizador_resumo r
+            where not exists (select 1 from eventos e where e.organizer_id = r.organizer_id)
+              and not exists (select 1 from eventos_arquivo a where a.organizer_id = r.organizer_id)
+            """, nativeQuery = true)
+    int removerSemEventos();
+}
@@ -0,0 +1,84 @@
+package service.eventos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.repository.EventoArquivadoRepository;
+import service.eventos.repository.EventoRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Move eventos CONCLUIDO/CANCELADO mais antigos que a retenção (e seus
+ * participantes) para as tabelas de arquivo, mantendo pequenas as tabelas
+ * usadas nas listagens.
+ * <p>
+ * Cada lote copia e remove na mesma transação: ou o lote inteiro vai para o
+ * arquivo, ou nada muda. Como as cópias ignoram conflitos, uma execução
+ * interrompida continua de onde parou na próxima.
+ */
+@Slf4j
+@Component
+public class ArquivamentoEventosJob {
+
+    // chave do pg_try_advisory_xact_lock deste job
+    static final long TRAVA = 0x4556_0002L;
+
+    private final EventoRepository eventoRepository;
+    private final EventoArquivadoRepository arquivoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retencao;
+    private final int tamanhoLote;
+    private final int maxLotesPorExecucao;
+
+    public ArquivamentoEventosJob(
+            EventoRepository eventoRepository,
+            EventoArquivadoRepository arquivoRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${eventos.arquivamento.retencao:365d}") Duration retencao,
+            @Value("${eventos.arquivamento.tamanho-lote:200}") int tamanhoLote,
+            @Value("${eventos.arquivamento.max-lotes-por-execucao:500}") int maxLotesPorExecucao
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retencao = retencao;
+        this.tamanhoLote = tamanhoLote;
+        this.maxLotesPorExecucao = maxLotesPorExecucao;
+    }
+
+    @Scheduled(cron = "${eventos.arquivamento.cron:0 30 3 * * *}")
+    public void arquivarEventosAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+        int total = 0;
+        for (int i = 0; i < maxLotesPorExecucao; i++) {
+            Integer arquivados = transactionTemplate.execute(status -> arquivarLote(limite));
+            // null/negativo: outra réplica está com a trava
+            if (arquivados == null || arquivados <= 0) break;
+            total += arquivados;
+            if (arquivados < tamanhoLote) break;
+        }
+        if (total > 0) {
+            log.info("{} evento(s) movido(s) para o arquivo.", total);
+        }
+    }
+
+    private int arquivarLote(LocalDateTime limite) {
+        if (!eventoRepository.tentarTravaDeJob(TRAVA)) {
+            return -1;
+        }
+        List<Long> ids = arquivoRepository.buscarIdsParaArquivar(limite, tamanhoLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        arquivoRepository.copiarEventos(ids);
+        arquivoRepository.copiarParticipantes(ids);
+        arquivoRepository.removerParticipantesAtivos(ids);
+        arquivoRepository.removerEventosAtivos(ids);
+        return ids.size();
+    }
+}
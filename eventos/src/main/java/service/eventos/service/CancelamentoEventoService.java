@@ -0,0 +1,108 @@
+package service.eventos.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import service.eventos.dto.CancelamentoDto;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.events.ResumoOrganizadorDeltaEvent;
+import service.eventos.exception.RecursoNaoEncontradoException;
+import service.eventos.model.CancelamentoEvento;
+import service.eventos.model.StatusCancelamento;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.CancelamentoEventoRepository;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.EventoResumo;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cancelamento em massa de um evento: o status muda na hora (novas inscrições
+ * já são recusadas) e a liberação dos ingressos fica registrada em
+ * cancelamentos_evento para o {@link CancelamentoIngressosJob} processar em lotes.
+ */
+@Service
+@RequiredArgsConstructor
+public class CancelamentoEventoService {
+
+    private final EventoRepository eventoRepository;
+    private final CancelamentoEventoRepository cancelamentoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public CancelamentoDto cancelarEvento(Long eventoId, UUID organizerId) {
+        EventoResumo evento = buscarResumoDoOrganizador(eventoId, organizerId);
+
+        // repetir o pedido devolve o andamento do cancelamento já aberto
+        var existente = cancelamentoRepository.findById(eventoId);
+        if (existente.isPresent()) {
+            return paraDto(existente.get());
+        }
+        if (evento.getStatus() != StatusEvento.ATIVO) {
+            throw new IllegalStateException("Só é possível cancelar eventos ativos.");
+        }
+
+        // o UPDATE espera inscrições em curso (que travam a linha do evento): as anteriores
+        // já estão commitadas quando o job varre os participantes; as posteriores veem CANCELADO.
+        // Condicional: o status lido acima não está travado, e um cancelamento paralelo ou o
+        // ConclusaoEventosJob podem ter trocado o status enquanto isso
+        if (eventoRepository.trocarStatus(eventoId, StatusEvento.ATIVO, StatusEvento.CANCELADO) == 0) {
+            // cancelamento concorrente já commitado: devolve o andamento dele
+            return cancelamentoRepository.findById(eventoId)
+                    .map(this::paraDto)
+                    .orElseThrow(() -> new IllegalStateException("Só é possível cancelar eventos ativos."));
+        }
+        int inscritos = eventoRepository.contarParticipantes(eventoId);
+
+        LocalDateTime agora = LocalDateTime.now();
+        CancelamentoEvento cancelamento = new CancelamentoEvento();
+        cancelamento.setEventoId(eventoId);
+        cancelamento.setOrganizerId(organizerId);
+        cancelamento.setStatus(StatusCancelamento.EM_ANDAMENTO);
+        cancelamento.setTotalParticipantes(inscritos);
+        cancelamento.setProcessados(0);
+        cancelamento.setTentativas(0);
+        cancelamento.setCriadoEm(agora);
+        cancelamento.setAtualizadoEm(agora);
+        cancelamentoRepository.save(cancelamento);
+
+        eventPublisher.publishEvent(new EventoAlteradoEvent(eventoId, EventoAlteradoEvent.Tipo.STATUS, 0, StatusEvento.CANCELADO));
+        eventPublisher.publishEvent(
+                ResumoOrganizadorDeltaEvent.contribuicao(organizerId, evento.getCapacidade(), inscritos, StatusEvento.CANCELADO)
+                        .menos(ResumoOrganizadorDeltaEvent.contribuicao(organizerId, evento.getCapacidade(), inscritos, StatusEvento.ATIVO)));
+        return paraDto(cancelamento);
+    }
+
+    @Transactional(readOnly = true)
+    public CancelamentoDto consultarCancelamento(Long eventoId, UUID organizerId) {
+        buscarResumoDoOrganizador(eventoId, organizerId);
+        return cancelamentoRepository.findById(eventoId)
+                .map(this::paraDto)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Evento " + eventoId + " não foi cancelado."));
+    }
+
+    private EventoResumo buscarResumoDoOrganizador(Long eventoId, UUID organizerId) {
+        EventoResumo evento = eventoRepository.findResumoById(eventoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Evento não encontrado com ID: " + eventoId));
+        // apenas o dono pode cancelar ou acompanhar
+        if (!evento.getOrganizerId().equals(organizerId)) {
+            throw new SecurityException("Apenas o organizador pode cancelar o evento.");
+        }
+        return evento;
+    }
+
+    private CancelamentoDto paraDto(CancelamentoEvento cancelamento) {
+        CancelamentoDto dto = new CancelamentoDto();
+        dto.setEventoId(cancelamento.getEventoId());
+        dto.setStatus(cancelamento.getStatus());
+        dto.setTotalParticipantes(cancelamento.getTotalParticipantes());
+        dto.setProcessados(cancelamento.getProcessados());
+        dto.setTentativas(cancelamento.getTentativas());
+        dto.setUltimoErro(cancelamento.getUltimoErro());
+        dto.setCriadoEm(cancelamento.getCriadoEm());
+        dto.setAtualizadoEm(cancelamento.getAtualizadoEm());
+        return dto;
+    }
+}
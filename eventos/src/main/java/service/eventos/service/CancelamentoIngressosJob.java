@@ -0,0 +1,224 @@
+package service.eventos.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import service.eventos.client.IngressosClient;
+import service.eventos.model.CancelamentoEvento;
+import service.eventos.model.StatusCancelamento;
+import service.eventos.repository.CancelamentoEventoRepository;
+import service.eventos.repository.EventoRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Libera os ingressos dos eventos cancelados, em lotes, chamando o
+ * ingressos-service com uma requisição por lote.
+ * <p>
+ * O cursor (último participante enviado) é gravado depois de cada lote, então
+ * após uma queda o trabalho continua de onde parou; no máximo o lote em voo é
+ * reenviado. Cada cancelamento é reservado por uma réplica com prazo
+ * (bloqueado_ate), renovado a cada lote. Entre lotes há uma pausa para não
+ * sobrecarregar o ingressos-service.
+ * <p>
+ * Se o ingressos-service falhar, a próxima tentativa espera em backoff
+ * exponencial (a reserva é estendida pela espera). Depois de max-tentativas
+ * falhas seguidas o cancelamento vai para FALHOU, com o último erro gravado,
+ * e sai da fila até um operador reabri-lo.
+ * <p>
+ * As chamadas HTTP e as pausas rodam numa thread própria: o agendador só
+ * dispara a execução, sem ficar preso enquanto um cancelamento grande é liberado.
+ */
+@Slf4j
+@Component
+public class CancelamentoIngressosJob {
+
+    // participante_id > INICIO pega todos os UUIDs na primeira página
+    static final UUID INICIO = new UUID(0L, 0L);
+
+    private final CancelamentoEventoRepository cancelamentoRepository;
+    private final EventoRepository eventoRepository;
+    private final IngressosClient ingressosClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final long pausaEntreLotesMs;
+    private final int maxLotesPorExecucao;
+    private final Duration reserva;
+    private final int maxTentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final ExecutorService execucao =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("cancelamento-ingressos-"));
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    public CancelamentoIngressosJob(
+            CancelamentoEventoRepository cancelamentoRepository,
+            EventoRepository eventoRepository,
+            IngressosClient ingressosClient,
+            TransactionTemplate transactionTemplate,
+            @Value("${eventos.cancelamento.tamanho-lote:100}") int tamanhoLote,
+            @Value("${eventos.cancelamento.pausa-entre-lotes-ms:200}") long pausaEntreLotesMs,
+            @Value("${eventos.cancelamento.max-lotes-por-execucao:50}") int maxLotesPorExecucao,
+            @Value("${eventos.cancelamento.reserva:2m}") Duration reserva,
+            @Value("${eventos.cancelamento.max-tentativas:8}") int maxTentativas,
+            @Value("${eventos.cancelamento.espera-inicial:30s}") Duration esperaInicial,
+            @Value("${eventos.cancelamento.espera-maxima:30m}") Duration esperaMaxima
+    ) {
+        this.cancelamentoRepository = cancelamentoRepository;
+        this.eventoRepository = eventoRepository;
+        this.ingressosClient = ingressosClient;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.pausaEntreLotesMs = pausaEntreLotesMs;
+        this.maxLotesPorExecucao = maxLotesPorExecucao;
+        this.reserva = reserva;
+        this.maxTentativas = maxTentativas;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    // não empilha execuções: se a anterior ainda roda, este disparo é ignorado
+    @Scheduled(fixedDelayString = "${eventos.cancelamento.intervalo-ms:5000}")
+    public void disparar() {
+        if (!emExecucao.compareAndSet(false, true)) {
+            return;
+        }
+        execucao.execute(() -> {
+            try {
+                processarPendentes();
+            } catch (RuntimeException e) {
+                log.error("Falha ao processar cancelamentos pendentes.", e);
+            } finally {
+                emExecucao.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        // interrompe a pausa entre lotes; a reserva expira e outra réplica continua
+        execucao.shutdownNow();
+    }
+
+    public void processarPendentes() {
+        Set<Long> vistos = new HashSet<>();
+        Long eventoId;
+        while ((eventoId = transactionTemplate.execute(status -> reservarProximo())) != null) {
+            // voltou um já tratado nesta execução: o resto fica para a próxima
+            if (!vistos.add(eventoId)) {
+                atualizar(eventoId, c -> c.setBloqueadoAte(null));
+                break;
+            }
+            processar(eventoId);
+        }
+    }
+
+    private Long reservarProximo() {
+        LocalDateTime agora = LocalDateTime.now();
+        return cancelamentoRepository.buscarProximoPendente(agora)
+                .flatMap(cancelamentoRepository::findById)
+                .map(cancelamento -> {
+                    cancelamento.setBloqueadoAte(agora.plus(reserva));
+                    return cancelamento.getEventoId();
+                })
+                .orElse(null);
+    }
+
+    void processar(Long eventoId) {
+        for (int i = 0; i < maxLotesPorExecucao; i++) {
+            CancelamentoEvento cancelamento = cancelamentoRepository.findById(eventoId).orElse(null);
+            if (cancelamento == null || cancelamento.getStatus() != StatusCancelamento.EM_ANDAMENTO) {
+                return;
+            }
+            UUID cursor = cancelamento.getUltimoParticipante() != null ? cancelamento.getUltimoParticipante() : INICIO;
+            List<UUID> lote = eventoRepository.buscarParticipantesApos(eventoId, cursor, tamanhoLote);
+            if (lote.isEmpty()) {
+                atualizar(eventoId, c -> c.setStatus(StatusCancelamento.CONCLUIDO));
+                log.info("Ingressos do evento {} liberados ({} participante(s)).", eventoId, cancelamento.getProcessados());
+                return;
+            }
+
+            // chamada HTTP fora de transação, para não segurar conexão nem locks
+            try {
+                ingressosClient.cancelTickets(eventoId, lote);
+            } catch (RestClientException e) {
+                registrarFalha(eventoId, e);
+                return;
+            }
+
+            UUID ultimo = lote.get(lote.size() - 1);
+            atualizar(eventoId, c -> {
+                c.setUltimoParticipante(ultimo);
+                c.setProcessados(c.getProcessados() + lote.size());
+                c.setTentativas(0);
+                c.setUltimoErro(null);
+                c.setBloqueadoAte(LocalDateTime.now().plus(reserva));
+            });
+            if (!pausar()) {
+                return;
+            }
+        }
+        // atingiu o limite da execução: solta a reserva para continuar logo na próxima
+        atualizar(eventoId, c -> c.setBloqueadoAte(null));
+    }
+
+    // tentativas conta falhas seguidas: um lote liberado zera o contador
+    private void registrarFalha(Long eventoId, RestClientException erro) {
+        atualizar(eventoId, c -> {
+            int tentativas = c.getTentativas() + 1;
+            c.setTentativas(tentativas);
+            c.setUltimoErro(erro.getMessage());
+            if (tentativas >= maxTentativas) {
+                c.setStatus(StatusCancelamento.FALHOU);
+                c.setBloqueadoAte(null);
+                log.error("Liberação dos ingressos do evento {} falhou {} vezes seguidas; cancelamento marcado como FALHOU.",
+                        eventoId, tentativas, erro);
+            } else {
+                Duration espera = espera(tentativas);
+                c.setBloqueadoAte(LocalDateTime.now().plus(espera));
+                log.warn("Falha ao liberar ingressos do evento {} (tentativa {} de {}); nova tentativa em {}.",
+                        eventoId, tentativas, maxTentativas, espera, erro);
+            }
+        });
+    }
+
+    // esperaInicial * 2^(tentativas - 1), limitada a esperaMaxima
+    private Duration espera(int tentativas) {
+        int expoente = Math.min(tentativas - 1, 30);
+        Duration espera = esperaInicial.multipliedBy(1L << expoente);
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    private void atualizar(Long eventoId, Consumer<CancelamentoEvento> alteracao) {
+        transactionTemplate.executeWithoutResult(status ->
+                cancelamentoRepository.findById(eventoId).ifPresent(c -> {
+                    alteracao.accept(c);
+                    c.setAtualizadoEm(LocalDateTime.now());
+                }));
+    }
+
+    private boolean pausar() {
+        if (pausaEntreLotesMs <= 0) return true;
+        try {
+            Thread.sleep(pausaEntreLotesMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package service.eventos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.ResumoOrganizadorRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Passa para CONCLUIDO os eventos ATIVO cuja data já passou, para que
+ * não fiquem para sempre nas consultas por status ATIVO.
+ * <p>
+ * Trabalha em lotes, cada um na sua transação curta (UPDATE por conjunto de IDs),
+ * para não segurar locks por muito tempo. Entre réplicas, só quem pega o advisory
+ * lock do Postgres processa o lote.
+ */
+@Slf4j
+@Component
+public class ConclusaoEventosJob {
+
+    // chave do pg_try_advisory_xact_lock deste job
+    static final long TRAVA = 0x4556_0001L;
+
+    private final EventoRepository eventoRepository;
+    private final ResumoOrganizadorRepository resumoOrganizadorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoLote;
+    private final int maxLotesPorExecucao;
+
+    public ConclusaoEventosJob(
+            EventoRepository eventoRepository,
+            ResumoOrganizadorRepository resumoOrganizadorRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${eventos.conclusao.tamanho-lote:500}") int tamanhoLote,
+            @Value("${eventos.conclusao.max-lotes-por-execucao:200}") int maxLotesPorExecucao
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.resumoOrganizadorRepository = resumoOrganizadorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoLote = tamanhoLote;
+        this.maxLotesPorExecucao = maxLotesPorExecucao;
+    }
+
+    @Scheduled(cron = "${eventos.conclusao.cron:0 */5 * * * *}")
+    public void concluirEventosRealizados() {
+        LocalDateTime agora = LocalDateTime.now();
+        int total = 0;
+        for (int i = 0; i < maxLotesPorExecucao; i++) {
+            Integer concluidos = transactionTemplate.execute(status -> concluirLote(agora));
+            // null/negativo: outra réplica está com a trava
+            if (concluidos == null || concluidos <= 0) break;
+            total += concluidos;
+            if (concluidos < tamanhoLote) break;
+        }
+        if (total > 0) {
+            log.info("{} evento(s) passado(s) para CONCLUIDO.", total);
+        }
+    }
+
+    private int concluirLote(LocalDateTime agora) {
+        if (!eventoRepository.tentarTravaDeJob(TRAVA)) {
+            return -1;
+        }
+        List<Long> ids = eventoRepository.buscarIdsAtivosRealizadosAte(agora, tamanhoLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // na mesma transação: os esgotados deste lote deixam de ser "próximos"
+        resumoOrganizadorRepository.descontarEsgotados(ids);
+        eventoRepository.atualizarStatus(ids, StatusEvento.CONCLUIDO);
+        // caches e streams que guardam esses eventos são avisados após o commit do lote
+        for (Long id : ids) {
+            eventPublisher.publishEvent(new EventoAlteradoEvent(id, EventoAlteradoEvent.Tipo.STATUS, 0, StatusEvento.CONCLUIDO));
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,141 @@
+package service.eventos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import service.eventos.client.IngressosClient;
+import service.eventos.commons.PaymentMethod;
+import service.eventos.model.EmissaoIngresso;
+import service.eventos.model.StatusEmissaoIngresso;
+import service.eventos.repository.EmissaoIngressoRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Emite os ingressos dos promovidos da lista de espera, gravados em
+ * emissoes_ingresso pelo PromocaoListaEsperaJob na transação da inscrição.
+ * <p>
+ * Cada execução reserva um lote de pendentes (SKIP LOCKED + bloqueado_ate, como
+ * no CancelamentoIngressosJob) e chama o ingressos-service fora de transação,
+ * um ingresso por vez. Uma falha adia só aquele ingresso, em backoff
+ * exponencial; depois de max-tentativas falhas seguidas ele vai para FALHOU,
+ * com o último erro gravado. Se a réplica cair no meio, a reserva expira e o
+ * ingresso em voo pode ser pedido de novo.
+ */
+@Slf4j
+@Component
+public class EmissaoIngressosJob {
+
+    private final EmissaoIngressoRepository emissaoRepository;
+    private final IngressosClient ingressosClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final Duration reserva;
+    private final int maxTentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+
+    public EmissaoIngressosJob(
+            EmissaoIngressoRepository emissaoRepository,
+            IngressosClient ingressosClient,
+            TransactionTemplate transactionTemplate,
+            @Value("${eventos.emissao-ingressos.tamanho-lote:100}") int tamanhoLote,
+            @Value("${eventos.emissao-ingressos.reserva:2m}") Duration reserva,
+            @Value("${eventos.emissao-ingressos.max-tentativas:8}") int maxTentativas,
+            @Value("${eventos.emissao-ingressos.espera-inicial:30s}") Duration esperaInicial,
+            @Value("${eventos.emissao-ingressos.espera-maxima:30m}") Duration esperaMaxima
+    ) {
+        this.emissaoRepository = emissaoRepository;
+        this.ingressosClient = ingressosClient;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.reserva = reserva;
+        this.maxTentativas = maxTentativas;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Scheduled(fixedDelayString = "${eventos.emissao-ingressos.intervalo-ms:2000}")
+    public void emitirPendentes() {
+        List<Long> ids = transactionTemplate.execute(status -> reservarLote());
+        if (ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            try {
+                emitir(id);
+            } catch (RuntimeException e) {
+                // a reserva expira e o ingresso volta na próxima rodada
+                log.error("Falha ao emitir o ingresso pendente {}.", id, e);
+            }
+        }
+    }
+
+    private List<Long> reservarLote() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> ids = emissaoRepository.buscarPendentes(agora, tamanhoLote);
+        if (!ids.isEmpty()) {
+            emissaoRepository.reservar(ids, agora.plus(reserva));
+        }
+        return ids;
+    }
+
+    private void emitir(Long id) {
+        EmissaoIngresso emissao = emissaoRepository.findById(id).orElse(null);
+        if (emissao == null || emissao.getStatus() != StatusEmissaoIngresso.PENDENTE) {
+            return;
+        }
+        // chamada HTTP fora de transação, para não segurar conexão nem locks
+        try {
+            ingressosClient.createTicket(emissao.getEventoId(), emissao.getParticipanteId(), PaymentMethod.PIX);
+        } catch (RestClientException e) {
+            registrarFalha(id, e);
+            return;
+        }
+        atualizar(id, e -> {
+            e.setStatus(StatusEmissaoIngresso.EMITIDO);
+            e.setUltimoErro(null);
+            e.setBloqueadoAte(null);
+        });
+    }
+
+    private void registrarFalha(Long id, RestClientException erro) {
+        atualizar(id, e -> {
+            int tentativas = e.getTentativas() + 1;
+            e.setTentativas(tentativas);
+            e.setUltimoErro(erro.getMessage());
+            if (tentativas >= maxTentativas) {
+                e.setStatus(StatusEmissaoIngresso.FALHOU);
+                e.setBloqueadoAte(null);
+                log.error("Ingresso do participante {} no evento {} falhou {} vezes seguidas; emissão marcada como FALHOU.",
+                        e.getParticipanteId(), e.getEventoId(), tentativas, erro);
+            } else {
+                Duration espera = espera(tentativas);
+                e.setBloqueadoAte(LocalDateTime.now().plus(espera));
+                log.warn("Falha ao emitir ingresso do participante {} no evento {} (tentativa {} de {}); nova tentativa em {}.",
+                        e.getParticipanteId(), e.getEventoId(), tentativas, maxTentativas, espera, erro);
+            }
+        });
+    }
+
+    // esperaInicial * 2^(tentativas - 1), limitada a esperaMaxima
+    private Duration espera(int tentativas) {
+        int expoente = Math.min(tentativas - 1, 30);
+        Duration espera = esperaInicial.multipliedBy(1L << expoente);
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    private void atualizar(Long id, Consumer<EmissaoIngresso> alteracao) {
+        transactionTemplate.executeWithoutResult(status ->
+                emissaoRepository.findById(id).ifPresent(e -> {
+                    alteracao.accept(e);
+                    e.setAtualizadoEm(LocalDateTime.now());
+                }));
+    }
+}
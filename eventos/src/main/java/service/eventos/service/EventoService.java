@@ -2,27 +2,63 @@ package service.eventos.service;
 
 import service.eventos.client.IngressosClient;
 import service.eventos.client.UserClient;
+import service.eventos.diagnostico.InscricaoFaseEvent;
 import service.eventos.commons.PaymentMethod;
 import service.eventos.dto.*;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.events.ResumoOrganizadorDeltaEvent;
 import service.eventos.exception.RecursoNaoEncontradoException;
+import service.eventos.exception.RequisicaoInvalidaException;
 import service.eventos.model.*;
 import service.eventos.repository.*;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
-@RequiredArgsConstructor
 public class EventoService {
 
     private final EventoRepository eventoRepository;
+    private final EventoArquivadoRepository eventoArquivadoRepository;
     private final CategoriaRepository categoriaRepository;
+    private final ListaEsperaRepository listaEsperaRepository;
     private final IngressosClient ingressosClient;
     private final UserClient userClient;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int maxIdsPorLote;
+    private final int maxParticipantesPorPagina;
+
+    public EventoService(
+            EventoRepository eventoRepository,
+            EventoArquivadoRepository eventoArquivadoRepository,
+            CategoriaRepository categoriaRepository,
+            ListaEsperaRepository listaEsperaRepository,
+            IngressosClient ingressosClient,
+            UserClient userClient,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${eventos.lote.max-ids:100}") int maxIdsPorLote,
+            @Value("${eventos.participantes.max-por-pagina:200}") int maxParticipantesPorPagina
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.eventoArquivadoRepository = eventoArquivadoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.listaEsperaRepository = listaEsperaRepository;
+        this.ingressosClient = ingressosClient;
+        this.userClient = userClient;
+        this.eventPublisher = eventPublisher;
+        this.maxIdsPorLote = maxIdsPorLote;
+        this.maxParticipantesPorPagina = maxParticipantesPorPagina;
+    }
 
     //MÉTODOS PARA ORGANIZADORES
     @Transactional
@@ -40,6 +76,8 @@ public class EventoService {
         evento.setStatus(StatusEvento.ATIVO);
 
         Evento eventoSalvo = eventoRepository.save(evento);
+        publicarAlteracao(eventoSalvo, EventoAlteradoEvent.Tipo.CRIADO);
+        eventPublisher.publishEvent(contribuicao(eventoSalvo));
         return paraRespostaDto(eventoSalvo);
     }
 
@@ -54,6 +92,7 @@ public class EventoService {
         }
 
         Categoria categoria = buscarCategoriaPorId(requisicaoDto.getCategoriaId());
+        ResumoOrganizadorDeltaEvent antes = contribuicao(eventoExistente);
 
         eventoExistente.setNome(requisicaoDto.getNome());
         eventoExistente.setDescricao(requisicaoDto.getDescricao());
@@ -63,6 +102,8 @@ public class EventoService {
         eventoExistente.setCategoria(categoria);
 
         Evento eventoAtualizado = eventoRepository.save(eventoExistente);
+        publicarAlteracao(eventoAtualizado, EventoAlteradoEvent.Tipo.ATUALIZADO);
+        eventPublisher.publishEvent(contribuicao(eventoAtualizado).menos(antes));
         return paraRespostaDto(eventoAtualizado);
     }
 
@@ -80,6 +121,8 @@ public class EventoService {
         }
 
         eventoRepository.delete(evento);
+        eventPublisher.publishEvent(new EventoAlteradoEvent(eventoId, EventoAlteradoEvent.Tipo.REMOVIDO, 0, evento.getStatus()));
+        eventPublisher.publishEvent(contribuicao(evento).negativo());
     }
 
     @Transactional(readOnly = true)
@@ -87,10 +130,45 @@ public class EventoService {
         return eventoRepository.findByOrganizerId(organizerId, pageable).map(this::paraRespostaDto);
     }
 
+    // página por cursor direto de evento_participantes: nunca carrega o conjunto inteiro
+    @Transactional(readOnly = true)
+    public ParticipantesPaginaDto listarParticipantes(Long eventoId, UUID organizerId, String cursor, int limite) {
+        if (limite < 1 || limite > maxParticipantesPorPagina) {
+            throw new RequisicaoInvalidaException("O limite deve estar entre 1 e " + maxParticipantesPorPagina + ".");
+        }
+        EventoResumo evento = eventoRepository.findResumoById(eventoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Evento não encontrado com ID: " + eventoId));
+        // apenas o dono vê os inscritos
+        if (!evento.getOrganizerId().equals(organizerId)) {
+            throw new SecurityException("Apenas o organizador pode ver os participantes do evento.");
+        }
+
+        List<ParticipanteInscrito> linhas;
+        if (cursor == null || cursor.isBlank()) {
+            linhas = eventoRepository.buscarPrimeirosParticipantes(eventoId, limite);
+        } else {
+            ParticipanteDto depoisDe = lerCursor(cursor);
+            linhas = eventoRepository.buscarParticipantesAposCursor(
+                    eventoId, depoisDe.getInscritoEm(), depoisDe.getParticipanteId(), limite);
+        }
+
+        List<ParticipanteDto> participantes = new ArrayList<>(linhas.size());
+        for (ParticipanteInscrito linha : linhas) {
+            participantes.add(new ParticipanteDto(linha.getParticipanteId(), linha.getInscritoEm()));
+        }
+        String proximoCursor = participantes.size() == limite
+                ? escreverCursor(participantes.get(participantes.size() - 1))
+                : null;
+        return new ParticipantesPaginaDto(participantes, proximoCursor);
+    }
+
     // MÉTODOS PARA PARTICIPANTES
     @Transactional
     public void inscreverEmEvento(Long eventoId, UUID participanteId) {
-        Evento evento = buscarEventoPorId(eventoId);
+        // fases medidas com eventos JFR (diagnostico.InscricaoFaseEvent)
+        // linha do evento travada até o commit: a checagem de vagas e status abaixo vale para o INSERT
+        Evento evento = InscricaoFaseEvent.medir(eventoId, "CARREGAR", () -> eventoRepository.buscarComTrava(eventoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Evento não encontrado com ID: " + eventoId)));
 
         if (evento.getParticipanteId().contains(participanteId)) {
             throw new IllegalStateException("Usuário já inscrito neste evento.");
@@ -102,10 +180,23 @@ public class EventoService {
         if (evento.getStatus() != StatusEvento.ATIVO) {
             throw new IllegalStateException("Só é possível se inscrever em eventos ativos.");
         }
+        // vaga liberada vai primeiro para quem está na fila (PromocaoListaEsperaJob)
+        if (listaEsperaRepository.existsByEventoId(eventoId)) {
+            throw new IllegalStateException("Este evento tem lista de espera; entre na lista de espera.");
+        }
 
+        ResumoOrganizadorDeltaEvent antes = contribuicao(evento);
         evento.getParticipanteId().add(participanteId);
-        eventoRepository.save(evento);
-        ingressosClient.createTicket(eventoId, participanteId, PaymentMethod.PIX);
+        // flush aqui: espera por lock de linha aparece nesta fase, não no commit
+        InscricaoFaseEvent.medir(eventoId, "GRAVAR", () -> {
+            eventoRepository.save(evento);
+            eventoRepository.flush();
+            return null;
+        });
+        publicarAlteracao(evento, EventoAlteradoEvent.Tipo.INSCRICAO);
+        eventPublisher.publishEvent(contribuicao(evento).menos(antes));
+        InscricaoFaseEvent.medir(eventoId, "EMITIR_INGRESSO",
+                () -> ingressosClient.createTicket(eventoId, participanteId, PaymentMethod.PIX));
     }
 
     @Transactional(readOnly = true)
@@ -113,14 +204,90 @@ public class EventoService {
         return eventoRepository.findByParticipanteIdContains(participanteId, pageable).map(this::paraRespostaDto);
     }
 
+    // caminho frio: inscrições em eventos já movidos para o arquivo
+    @Transactional(readOnly = true)
+    public Page<EventoRespostaDto> buscarInscricoesArquivadasDoParticipante(UUID participanteId, Pageable pageable) {
+        return eventoArquivadoRepository.findByParticipanteIdContains(participanteId, pageable).map(this::paraRespostaDto);
+    }
+
 
-    // para o participante visualizar todos os eventos disponíveis
+    // para o participante visualizar os eventos disponíveis, com filtros opcionais
     @Transactional(readOnly = true)
-    public Page<EventoRespostaDto> listarEventosDisponiveis(Pageable pageable) {
-        return eventoRepository.findByStatus(StatusEvento.ATIVO, pageable).map(this::paraRespostaDto);
+    public Page<EventoRespostaDto> listarEventosDisponiveis(FiltroEventosDto filtro, Pageable pageable) {
+        if (filtro.getDataInicio() != null && filtro.getDataFim() != null
+                && filtro.getDataInicio().isAfter(filtro.getDataFim())) {
+            throw new RequisicaoInvalidaException("A data inicial não pode ser posterior à data final.");
+        }
+        // sem ordenação explícita, ordena por data: é a última coluna de todos os índices do catálogo
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("data"));
+        }
+        return eventoRepository.findAll(EventoSpecifications.disponiveis(filtro), pageable).map(this::paraRespostaDto);
     }
 
 
+    // consulta em lote para hidratação entre serviços: um IN e um nome por organizador distinto
+    @Transactional(readOnly = true)
+    public EventoLoteRespostaDto buscarEmLote(List<Long> ids) {
+        Set<Long> distintos = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) distintos.add(id);
+        }
+        if (distintos.isEmpty()) {
+            throw new RequisicaoInvalidaException("Informe ao menos um ID de evento.");
+        }
+        if (distintos.size() > maxIdsPorLote) {
+            throw new RequisicaoInvalidaException("No máximo " + maxIdsPorLote + " eventos por consulta.");
+        }
+
+        Map<Long, Evento> encontrados = new HashMap<>();
+        for (Evento evento : eventoRepository.findByIdIn(distintos)) {
+            encontrados.put(evento.getId(), evento);
+        }
+
+        Map<UUID, String> nomesOrganizadores = new HashMap<>();
+        List<EventoRespostaDto> eventos = new ArrayList<>();
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long id : distintos) {
+            Evento evento = encontrados.get(id);
+            if (evento == null) {
+                naoEncontrados.add(id);
+                continue;
+            }
+            String organizerNome = nomesOrganizadores.computeIfAbsent(evento.getOrganizerId(), this::buscarNomeOrganizador);
+            eventos.add(paraRespostaDto(evento, organizerNome));
+        }
+        return new EventoLoteRespostaDto(eventos, naoEncontrados);
+    }
+
+    // ouvintes (ex: stream de vagas) recebem só após o commit
+    private void publicarAlteracao(Evento evento, EventoAlteradoEvent.Tipo tipo) {
+        int vagas = Math.max(0, evento.getCapacidade() - evento.getParticipanteId().size());
+        eventPublisher.publishEvent(new EventoAlteradoEvent(evento.getId(), tipo, vagas, evento.getStatus()));
+    }
+
+    private ResumoOrganizadorDeltaEvent contribuicao(Evento evento) {
+        return ResumoOrganizadorDeltaEvent.contribuicao(evento.getOrganizerId(), evento.getCapacidade(),
+                evento.getParticipanteId().size(), evento.getStatus());
+    }
+
+    // cursor opaco: "inscritoEm|participanteId" em Base64 URL-safe
+    private static String escreverCursor(ParticipanteDto ultimo) {
+        String valor = ultimo.getInscritoEm() + "|" + ultimo.getParticipanteId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ParticipanteDto lerCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new ParticipanteDto(UUID.fromString(valor.substring(separador + 1)),
+                    LocalDateTime.parse(valor.substring(0, separador)));
+        } catch (RuntimeException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido.");
+        }
+    }
+
     private Evento buscarEventoPorId(Long eventoId) {
         return eventoRepository.findById(eventoId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Evento não encontrado com ID: " + eventoId));
@@ -131,6 +298,10 @@ public class EventoService {
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria não encontrada com ID: " + categoriaId));
     }
     private EventoRespostaDto paraRespostaDto(Evento evento) {
+        return paraRespostaDto(evento, buscarNomeOrganizador(evento.getOrganizerId()));
+    }
+
+    private EventoRespostaDto paraRespostaDto(Evento evento, String organizerNome) {
         EventoRespostaDto dto = new EventoRespostaDto();
         dto.setId(evento.getId());
         dto.setNome(evento.getNome());
@@ -146,22 +317,45 @@ public class EventoService {
         categoriaDto.setId(evento.getCategoria().getId());
         categoriaDto.setNome(evento.getCategoria().getNome());
         dto.setCategoria(categoriaDto);
+        dto.setOrganizerNome(organizerNome);
+
+        return dto;
+    }
 
-        // pega o dto do usuário
+    private EventoRespostaDto paraRespostaDto(EventoArquivado evento) {
+        EventoRespostaDto dto = new EventoRespostaDto();
+        dto.setId(evento.getId());
+        dto.setNome(evento.getNome());
+        dto.setDescricao(evento.getDescricao());
+        dto.setLocalizacao(evento.getLocalizacao());
+        dto.setData(evento.getData());
+        dto.setCapacidade(evento.getCapacidade());
+        dto.setStatus(evento.getStatus());
+        dto.setOrganizerId(evento.getOrganizerId());
+        dto.setVagas(Math.max(0, evento.getCapacidade() - evento.getParticipanteId().size()));
+
+        CategoriaDto categoriaDto = new CategoriaDto();
+        categoriaDto.setId(evento.getCategoria().getId());
+        categoriaDto.setNome(evento.getCategoria().getNome());
+        dto.setCategoria(categoriaDto);
+        dto.setOrganizerNome(buscarNomeOrganizador(evento.getOrganizerId()));
+
+        return dto;
+    }
+
+    // pega o nome do organizador no user-service
+    private String buscarNomeOrganizador(UUID organizerId) {
         try {
-            UserClient.UserRespostaDto organizador = userClient.getUserById(evento.getOrganizerId());
+            UserClient.UserRespostaDto organizador = userClient.getUserById(organizerId);
             if (organizador != null) {
-                dto.setOrganizerNome(organizador.getNome());
-            } else {
-                dto.setOrganizerNome("Organizador não encontrado");
+                return organizador.getNome();
             }
+            return "Organizador não encontrado";
         } catch (Exception e) {
             // Em caso de falha (ex: user-service offline),
             // não quebramos a requisição inteira
-            dto.setOrganizerNome("Nome indisponível (serviço offline)");
+            return "Nome indisponível (serviço offline)";
         }
-
-        return dto;
     }
 
     public EventoRespostaDto buscarPorId(Long id) {
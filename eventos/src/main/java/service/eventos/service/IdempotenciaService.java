@@ -0,0 +1,159 @@
+package service.eventos.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import service.eventos.exception.ChaveIdempotenciaConflitanteException;
+import service.eventos.exception.IdempotenciaIndisponivelException;
+import service.eventos.exception.RequisicaoEmProcessamentoException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Suporte ao header Idempotency-Key.
+ * <p>
+ * A primeira requisição com uma chave executa a operação; repetições dentro do
+ * TTL recebem a resposta guardada, e duplicatas concorrentes esperam a primeira
+ * execução terminar em vez de rodar de novo. Falhas não são guardadas, então
+ * um retry após erro executa normalmente. Com o armazenamento cheio de chaves
+ * válidas a requisição é recusada com 503: executá-la sem registrar deixaria
+ * um retry da mesma chave rodar a operação de novo.
+ */
+@Service
+public class IdempotenciaService {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    private final ConcurrentHashMap<String, Registro> registros = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxRegistros;
+    private final long esperaMaximaMillis;
+    private volatile long ultimaLimpeza;
+
+    public IdempotenciaService(
+            @Value("${eventos.idempotencia.ttl:10m}") Duration ttl,
+            @Value("${eventos.idempotencia.max-chaves:10000}") int maxRegistros,
+            @Value("${eventos.idempotencia.espera-maxima:30s}") Duration esperaMaxima
+    ) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxRegistros = maxRegistros;
+        this.esperaMaximaMillis = esperaMaxima.toMillis();
+    }
+
+    /**
+     * @param escopo      identifica usuário e operação, para que a mesma chave não colida entre eles
+     * @param chave       valor do header; se nulo a operação roda sem idempotência
+     * @param impressao   conteúdo da requisição (comparado por equals, então não deve ser alterado depois);
+     *                    a mesma chave com conteúdo diferente é rejeitada
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> executar(String escopo, String chave, Object impressao,
+                                          Supplier<ResponseEntity<T>> operacao) {
+        if (chave == null || chave.isBlank()) {
+            return operacao.get();
+        }
+
+        String id = escopo + "|" + chave.trim();
+        while (true) {
+            long agora = System.currentTimeMillis();
+            Registro existente = registros.get(id);
+
+            if (existente != null && !existente.expirado(agora)) {
+                // compara o conteúdo guardado, não um hash: colisão não pode repetir a resposta de outro corpo
+                if (!Objects.equals(existente.impressao, impressao)) {
+                    throw new ChaveIdempotenciaConflitanteException(
+                            "Idempotency-Key já utilizada com uma requisição diferente.");
+                }
+                return (ResponseEntity<T>) repetida(aguardar(existente));
+            }
+
+            if (existente == null && registros.size() >= maxRegistros && !liberarEspaco(agora)) {
+                // armazenamento cheio de chaves válidas: recusa em vez de crescer sem limite
+                throw new IdempotenciaIndisponivelException(
+                        "Muitas requisições com Idempotency-Key em andamento. Tente novamente em instantes.");
+            }
+
+            Registro novo = new Registro(impressao, agora + ttlMillis);
+            boolean reservado = existente == null
+                    ? registros.putIfAbsent(id, novo) == null
+                    : registros.replace(id, existente, novo);
+            if (reservado) {
+                return executarERegistrar(id, novo, operacao);
+            }
+            // outra thread reservou a chave entre o get e o put: tenta de novo e espera por ela
+        }
+    }
+
+    private <T> ResponseEntity<T> executarERegistrar(String id, Registro registro, Supplier<ResponseEntity<T>> operacao) {
+        ResponseEntity<T> resposta;
+        try {
+            resposta = operacao.get();
+        } catch (RuntimeException e) {
+            registros.remove(id, registro);
+            registro.resposta.completeExceptionally(e);
+            throw e;
+        }
+        if (!resposta.getStatusCode().is2xxSuccessful()) {
+            registros.remove(id, registro);
+        }
+        registro.resposta.complete(resposta);
+        return resposta;
+    }
+
+    private ResponseEntity<?> aguardar(Registro registro) {
+        try {
+            return registro.resposta.get(esperaMaximaMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RequisicaoEmProcessamentoException(
+                    "Requisição com a mesma Idempotency-Key ainda em processamento.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequisicaoEmProcessamentoException(
+                    "Requisição com a mesma Idempotency-Key ainda em processamento.");
+        }
+    }
+
+    private static ResponseEntity<?> repetida(ResponseEntity<?> original) {
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(headers -> {
+                    headers.addAll(original.getHeaders());
+                    headers.set(HEADER_REPETIDA, "true");
+                })
+                .body(original.getBody());
+    }
+
+    // varre os expirados no máximo uma vez por segundo, para não virar O(n) por requisição
+    private boolean liberarEspaco(long agora) {
+        if (agora - ultimaLimpeza >= 1000) {
+            ultimaLimpeza = agora;
+            registros.values().removeIf(registro -> registro.expirado(agora) && registro.resposta.isDone());
+        }
+        return registros.size() < maxRegistros;
+    }
+
+    private static final class Registro {
+        private final Object impressao;
+        private final long expiraEm;
+        private final CompletableFuture<ResponseEntity<?>> resposta = new CompletableFuture<>();
+
+        private Registro(Object impressao, long expiraEm) {
+            this.impressao = impressao;
+            this.expiraEm = expiraEm;
+        }
+
+        private boolean expirado(long agora) {
+            return agora >= expiraEm;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package service.eventos.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import service.eventos.dto.ListaEsperaDto;
+import service.eventos.exception.RecursoNaoEncontradoException;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.EventoResumo;
+import service.eventos.repository.ListaEsperaRepository;
+
+import java.util.UUID;
+
+/**
+ * Entrada na lista de espera de um evento lotado. Quem está na fila não precisa
+ * tentar de novo: o {@link PromocaoListaEsperaJob} inscreve e emite o ingresso
+ * quando abrir vaga.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListaEsperaService {
+
+    private final EventoRepository eventoRepository;
+    private final ListaEsperaRepository listaEsperaRepository;
+
+    @Transactional
+    public ListaEsperaDto entrar(Long eventoId, UUID participanteId) {
+        EventoResumo evento = eventoRepository.findResumoById(eventoId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Evento não encontrado com ID: " + eventoId));
+
+        if (evento.getStatus() != StatusEvento.ATIVO) {
+            throw new IllegalStateException("Só é possível entrar na lista de espera de eventos ativos.");
+        }
+        if (eventoRepository.estaInscrito(eventoId, participanteId)) {
+            throw new IllegalStateException("Usuário já inscrito neste evento.");
+        }
+        // com fila formada, vaga livre é da fila; sem fila, a inscrição direta resolve
+        if (eventoRepository.contarParticipantes(eventoId) < evento.getCapacidade()
+                && !listaEsperaRepository.existsByEventoId(eventoId)) {
+            throw new IllegalStateException("O evento ainda tem vagas; faça a inscrição.");
+        }
+
+        listaEsperaRepository.entrar(eventoId, participanteId);
+        return new ListaEsperaDto(eventoId, listaEsperaRepository.posicao(eventoId, participanteId));
+    }
+
+    @Transactional(readOnly = true)
+    public ListaEsperaDto consultarPosicao(Long eventoId, UUID participanteId) {
+        int posicao = listaEsperaRepository.posicao(eventoId, participanteId);
+        if (posicao == 0) {
+            throw new RecursoNaoEncontradoException("Usuário não está na lista de espera do evento " + eventoId + ".");
+        }
+        return new ListaEsperaDto(eventoId, posicao);
+    }
+}
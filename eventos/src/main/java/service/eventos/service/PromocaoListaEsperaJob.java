@@ -0,0 +1,128 @@
+package service.eventos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.events.ResumoOrganizadorDeltaEvent;
+import service.eventos.model.ListaEspera;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.EmissaoIngressoRepository;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.EventoResumo;
+import service.eventos.repository.ListaEsperaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Promove a frente da lista de espera para as vagas livres (capacidade aumentada
+ * em atualizarEvento ou inscrições liberadas).
+ * <p>
+ * Por evento, numa transação: trava a linha do evento (SKIP LOCKED, então duas
+ * réplicas não promovem o mesmo evento; a inscrição direta trava a mesma linha
+ * e recusa eventos com fila, então não disputa a vaga), calcula as vagas, inscreve a frente da
+ * fila com um INSERT ... SELECT e grava, na mesma transação, um ingresso pendente
+ * por promovido em emissoes_ingresso. A chamada ao ingressos-service fica para o
+ * EmissaoIngressosJob, depois do commit: a transação não segura a linha do evento
+ * esperando HTTP, e uma falha lá não desfaz a promoção.
+ */
+@Slf4j
+@Component
+public class PromocaoListaEsperaJob {
+
+    private final EventoRepository eventoRepository;
+    private final ListaEsperaRepository listaEsperaRepository;
+    private final EmissaoIngressoRepository emissaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoLote;
+    private final int maxEventosPorExecucao;
+
+    public PromocaoListaEsperaJob(
+            EventoRepository eventoRepository,
+            ListaEsperaRepository listaEsperaRepository,
+            EmissaoIngressoRepository emissaoRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${eventos.lista-espera.tamanho-lote:100}") int tamanhoLote,
+            @Value("${eventos.lista-espera.max-eventos-por-execucao:50}") int maxEventosPorExecucao
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.listaEsperaRepository = listaEsperaRepository;
+        this.emissaoRepository = emissaoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoLote = tamanhoLote;
+        this.maxEventosPorExecucao = maxEventosPorExecucao;
+    }
+
+    @Scheduled(fixedDelayString = "${eventos.lista-espera.intervalo-ms:2000}")
+    public void promoverPendentes() {
+        List<Long> eventos = listaEsperaRepository.buscarEventosParaPromover(maxEventosPorExecucao);
+        for (Long eventoId : eventos) {
+            try {
+                Integer promovidos = transactionTemplate.execute(status -> promover(eventoId));
+                if (promovidos != null && promovidos > 0) {
+                    log.info("{} participante(s) promovido(s) da lista de espera do evento {}.", promovidos, eventoId);
+                }
+            } catch (RuntimeException e) {
+                // um evento com problema (dado inválido, erro de banco) não trava a fila dos demais
+                log.error("Falha ao promover a lista de espera do evento {}.", eventoId, e);
+            }
+        }
+    }
+
+    int promover(Long eventoId) {
+        Integer capacidade = eventoRepository.travarEventoAtivo(eventoId).orElse(null);
+        if (capacidade == null) {
+            return 0;
+        }
+        int inscritos = eventoRepository.contarParticipantes(eventoId);
+        int livres = capacidade - inscritos;
+        if (livres <= 0) {
+            return 0;
+        }
+
+        List<ListaEspera> frente = listaEsperaRepository.buscarFrente(eventoId, Math.min(livres, tamanhoLote));
+        if (frente.isEmpty()) {
+            return 0;
+        }
+        // quem já se inscreveu direto só sai da fila
+        List<Long> ids = new ArrayList<>();
+        List<Long> promoverIds = new ArrayList<>();
+        List<UUID> participantes = new ArrayList<>();
+        for (ListaEspera posicao : frente) {
+            ids.add(posicao.getId());
+            if (!eventoRepository.estaInscrito(eventoId, posicao.getParticipanteId())) {
+                promoverIds.add(posicao.getId());
+                participantes.add(posicao.getParticipanteId());
+            }
+        }
+
+        if (!promoverIds.isEmpty()) {
+            listaEsperaRepository.inscrever(promoverIds);
+            emissaoRepository.registrar(promoverIds);
+        }
+        listaEsperaRepository.remover(ids);
+
+        if (!participantes.isEmpty()) {
+            publicarAlteracoes(eventoId, capacidade, inscritos, inscritos + participantes.size());
+        }
+        return participantes.size();
+    }
+
+    // mesmos avisos de uma inscrição direta, entregues após o commit
+    private void publicarAlteracoes(Long eventoId, int capacidade, int antes, int depois) {
+        eventPublisher.publishEvent(new EventoAlteradoEvent(eventoId, EventoAlteradoEvent.Tipo.INSCRICAO,
+                Math.max(0, capacidade - depois), StatusEvento.ATIVO));
+        eventoRepository.findResumoById(eventoId).map(EventoResumo::getOrganizerId).ifPresent(organizerId ->
+                eventPublisher.publishEvent(
+                        ResumoOrganizadorDeltaEvent.contribuicao(organizerId, capacidade, depois, StatusEvento.ATIVO)
+                                .menos(ResumoOrganizadorDeltaEvent.contribuicao(organizerId, capacidade, antes, StatusEvento.ATIVO))));
+    }
+}
@@ -0,0 +1,49 @@
+package service.eventos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.ResumoOrganizadorRepository;
+
+/**
+ * Recalcula organizador_resumo a partir das tabelas de eventos (quentes e
+ * arquivadas), corrigindo deltas perdidos ou aplicados fora de ordem.
+ * Um único statement por conjunto; só a réplica com o advisory lock executa.
+ */
+@Slf4j
+@Component
+public class RecalculoResumoOrganizadorJob {
+
+    // chave do pg_try_advisory_xact_lock deste job
+    static final long TRAVA = 0x4556_0003L;
+
+    private final EventoRepository eventoRepository;
+    private final ResumoOrganizadorRepository resumoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecalculoResumoOrganizadorJob(
+            EventoRepository eventoRepository,
+            ResumoOrganizadorRepository resumoRepository,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.resumoRepository = resumoRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${eventos.resumo-organizador.cron:0 0 4 * * *}")
+    public void recalcular() {
+        Integer organizadores = transactionTemplate.execute(status -> {
+            if (!eventoRepository.tentarTravaDeJob(TRAVA)) {
+                return null;
+            }
+            resumoRepository.removerSemEventos();
+            return resumoRepository.recalcularTodos();
+        });
+        if (organizadores != null) {
+            log.info("Resumo recalculado para {} organizador(es).", organizadores);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package service.eventos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.dto.ResumoOrganizadorDto;
+import service.eventos.events.ResumoOrganizadorDeltaEvent;
+import service.eventos.repository.ResumoOrganizadorRepository;
+
+import java.util.UUID;
+
+/**
+ * Painel do organizador lido de organizador_resumo: uma linha por organizador,
+ * tempo de resposta independente do histórico.
+ * <p>
+ * Os deltas são aplicados depois do commit, numa transação curta própria, para
+ * não prender a linha do organizador durante a inscrição (que chama o
+ * ingressos-service). Um delta perdido é corrigido pelo
+ * {@link RecalculoResumoOrganizadorJob}.
+ */
+@Slf4j
+@Service
+public class ResumoOrganizadorService {
+
+    private final ResumoOrganizadorRepository resumoRepository;
+    // a transação do evento já terminou: o delta precisa de uma nova
+    private final TransactionTemplate novaTransacao;
+
+    public ResumoOrganizadorService(ResumoOrganizadorRepository resumoRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.resumoRepository = resumoRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public ResumoOrganizadorDto buscarResumo(UUID organizerId) {
+        return resumoRepository.findById(organizerId)
+                .map(resumo -> new ResumoOrganizadorDto(
+                        resumo.getTotalEventos(),
+                        resumo.getTotalInscricoes(),
+                        resumo.getCapacidadeTotal() > 0
+                                ? (double) resumo.getTotalInscricoes() / resumo.getCapacidadeTotal()
+                                : 0.0,
+                        resumo.getEsgotadosAtivos(),
+                        resumo.getAtualizadoEm()))
+                .orElseGet(() -> new ResumoOrganizadorDto(0, 0, 0.0, 0, null));
+    }
+
+    @TransactionalEventListener
+    public void onDelta(ResumoOrganizadorDeltaEvent delta) {
+        if (delta.vazio()) return;
+        // a alteração do evento já foi confirmada: erro aqui não pode virar 500 para o cliente
+        try {
+            novaTransacao.executeWithoutResult(status -> resumoRepository.aplicarDelta(delta.organizerId(),
+                    delta.eventos(), delta.inscricoes(), delta.capacidade(), delta.esgotados()));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar o resumo do organizador {}; será corrigido no recálculo.", delta.organizerId(), e);
+        }
+    }
+}
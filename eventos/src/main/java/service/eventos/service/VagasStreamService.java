@@ -0,0 +1,235 @@
+package service.eventos.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import service.eventos.dto.VagasDto;
+import service.eventos.events.EventoAlteradoEvent;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stream SSE de vagas por evento.
+ * <p>
+ * As conexões ficam em modo assíncrono (nenhuma thread do Tomcat presa por
+ * assinante). Alterações que chegam entre dois ciclos são agrupadas por
+ * evento: só a última é enviada, no máximo uma vez por intervalo.
+ * <p>
+ * Os ciclos agendados só marcam o que cada assinante deve receber; o envio
+ * (bloqueante) roda num pool próprio e limitado, um envio por vez por
+ * assinante. Um cliente lento atrasa só a si mesmo: novas mensagens
+ * substituem a que ainda não saiu, e quem fica preso num envio além de
+ * envio-timeout-ms é desconectado (o navegador reconecta e recebe o estado atual).
+ */
+@Slf4j
+@Service
+public class VagasStreamService {
+
+    private static final String NOME_EVENTO_SSE = "vagas";
+    private static final Object PING = new Object();
+
+    private final Map<Long, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final Map<Long, EventoAlteradoEvent> pendentes = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final long envioTimeoutMillis;
+    private final ThreadPoolExecutor envios;
+
+    public VagasStreamService(
+            @Value("${eventos.vagas-stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${eventos.vagas-stream.envio-timeout-ms:10000}") long envioTimeoutMillis,
+            @Value("${eventos.vagas-stream.threads-envio:8}") int threadsEnvio,
+            @Value("${eventos.vagas-stream.fila-envio:10000}") int filaEnvio
+    ) {
+        this.timeoutMillis = timeoutMillis;
+        this.envioTimeoutMillis = envioTimeoutMillis;
+        this.envios = new ThreadPoolExecutor(threadsEnvio, threadsEnvio, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(filaEnvio), new CustomizableThreadFactory("vagas-sse-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.envios.allowCoreThreadTimeOut(true);
+    }
+
+    public SseEmitter assinar(Long eventoId, VagasDto atual) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        registrar(eventoId, emitter, atual);
+        return emitter;
+    }
+
+    void registrar(Long eventoId, SseEmitter emitter, VagasDto atual) {
+        Assinante assinante = new Assinante(eventoId, emitter);
+        // compute em vez de computeIfAbsent + add: não corre com a remoção do último assinante
+        assinantes.compute(eventoId, (id, doEvento) -> {
+            Set<Assinante> conjunto = doEvento != null ? doEvento : ConcurrentHashMap.newKeySet();
+            conjunto.add(assinante);
+            return conjunto;
+        });
+
+        Runnable remover = () -> removerAssinante(assinante);
+        emitter.onCompletion(remover);
+        emitter.onTimeout(remover);
+        emitter.onError(e -> remover.run());
+
+        // pela mesma fila dos demais envios: não chega depois de uma alteração mais nova
+        oferecer(assinante, atual);
+    }
+
+    // só guarda a alteração; o envio acontece no próximo ciclo de publicar()
+    @TransactionalEventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        if (assinantes.containsKey(evento.eventoId())) {
+            pendentes.put(evento.eventoId(), evento);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${eventos.vagas-stream.intervalo-ms:1000}")
+    public void publicar() {
+        Iterator<Map.Entry<Long, EventoAlteradoEvent>> it = pendentes.entrySet().iterator();
+        while (it.hasNext()) {
+            EventoAlteradoEvent evento = it.next().getValue();
+            it.remove();
+
+            Set<Assinante> doEvento = assinantes.get(evento.eventoId());
+            if (doEvento == null) continue;
+
+            VagasDto vagas = new VagasDto(evento.eventoId(), evento.vagas(), evento.status());
+            boolean encerrar = evento.tipo() == EventoAlteradoEvent.Tipo.REMOVIDO;
+            for (Assinante assinante : doEvento) {
+                if (encerrar) {
+                    assinante.encerrarAposEnvio = true;
+                }
+                oferecer(assinante, vagas);
+            }
+        }
+    }
+
+    // comentário SSE periódico para proxies não derrubarem conexões ociosas;
+    // aproveita a passada para derrubar quem está preso num envio
+    @Scheduled(fixedDelayString = "${eventos.vagas-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long agora = System.currentTimeMillis();
+        assinantes.values().forEach(doEvento -> {
+            for (Assinante assinante : doEvento) {
+                long desde = assinante.enviandoDesde;
+                if (assinante.enviando.get() && desde > 0 && agora - desde > envioTimeoutMillis) {
+                    log.debug("Assinante de vagas do evento {} preso em envio há {} ms; desconectando.",
+                            assinante.eventoId, agora - desde);
+                    desconectar(assinante);
+                    continue;
+                }
+                // não sobrescreve uma mensagem de vagas ainda não enviada
+                if (assinante.proximo.compareAndSet(null, PING)) {
+                    agendar(assinante);
+                }
+            }
+        });
+    }
+
+    public int totalAssinantes() {
+        return assinantes.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        envios.shutdownNow();
+    }
+
+    private void oferecer(Assinante assinante, VagasDto vagas) {
+        assinante.proximo.set(vagas);
+        agendar(assinante);
+    }
+
+    // no máximo uma tarefa por assinante no pool; as demais mensagens esperam em "proximo"
+    private void agendar(Assinante assinante) {
+        if (!assinante.enviando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            envios.execute(() -> drenar(assinante));
+        } catch (RejectedExecutionException e) {
+            // pool saturado: melhor derrubar (o cliente reconecta) que acumular sem limite
+            assinante.enviando.set(false);
+            log.warn("Fila de envio SSE cheia; desconectando assinante do evento {}.", assinante.eventoId);
+            desconectar(assinante);
+        }
+    }
+
+    private void drenar(Assinante assinante) {
+        while (true) {
+            Object mensagem = assinante.proximo.getAndSet(null);
+            if (mensagem == null) {
+                assinante.enviandoDesde = 0;
+                assinante.enviando.set(false);
+                // chegou algo entre o getAndSet e a liberação: retoma se ninguém retomou
+                if (assinante.proximo.get() == null || !assinante.enviando.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            assinante.enviandoDesde = System.currentTimeMillis();
+            if (!enviar(assinante.emitter, mensagem)) {
+                removerAssinante(assinante);
+                assinante.enviando.set(false);
+                return;
+            }
+            if (mensagem != PING && assinante.encerrarAposEnvio) {
+                assinante.emitter.complete();
+            }
+        }
+    }
+
+    private boolean enviar(SseEmitter emitter, Object mensagem) {
+        try {
+            if (mensagem == PING) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                emitter.send(SseEmitter.event().name(NOME_EVENTO_SSE).data(mensagem));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // cliente desconectou
+            log.debug("Assinante de vagas desconectado: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void desconectar(Assinante assinante) {
+        removerAssinante(assinante);
+        assinante.emitter.completeWithError(new IOException("Assinante de vagas não acompanhou os envios."));
+    }
+
+    private void removerAssinante(Assinante assinante) {
+        assinantes.computeIfPresent(assinante.eventoId, (id, doEvento) -> {
+            doEvento.remove(assinante);
+            return doEvento.isEmpty() ? null : doEvento;
+        });
+    }
+
+    private static final class Assinante {
+        final Long eventoId;
+        final SseEmitter emitter;
+        // última mensagem ainda não enviada (VagasDto ou PING); novas substituem as antigas
+        final AtomicReference<Object> proximo = new AtomicReference<>();
+        final AtomicBoolean enviando = new AtomicBoolean();
+        volatile long enviandoDesde;
+        volatile boolean encerrarAposEnvio;
+
+        Assinante(Long eventoId, SseEmitter emitter) {
+            this.eventoId = eventoId;
+            this.emitter = emitter;
+        }
+    }
+}
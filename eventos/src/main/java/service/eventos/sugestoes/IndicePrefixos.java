@@ -0,0 +1,132 @@
+package service.eventos.sugestoes;
+
+import service.eventos.dto.SugestaoDto;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de prefixos sobre nome e localização dos eventos, sem acento e sem
+ * caixa. Cada texto entra uma vez por palavra ("festival de rock", "de rock",
+ * "rock"), então "roc" também acha o festival. Uma busca é um subMap do
+ * ConcurrentSkipListMap: O(log n) até o primeiro resultado.
+ * <p>
+ * Textos iguais de eventos diferentes (a mesma cidade em milhares de eventos)
+ * dividem uma entrada, com o conjunto dos ids; assim a busca percorre no
+ * máximo {@code limite * MAX_PALAVRAS} chaves, não uma por evento.
+ * Escritas são serializadas (são raras); leituras não travam.
+ */
+final class IndicePrefixos {
+
+    // separa o sufixo buscado, o tipo e o texto completo na chave
+    private static final char SEPARADOR = '\u0000';
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    static final int MAX_PALAVRAS = 6;
+    static final int MAX_CARACTERES = 80;
+
+    private final ConcurrentSkipListMap<String, Entrada> entradas = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> chavesPorEvento = new ConcurrentHashMap<>();
+
+    synchronized void indexar(Long eventoId, String nome, String localizacao) {
+        List<String> anteriores = chavesPorEvento.remove(eventoId);
+        if (anteriores != null) desvincular(anteriores, eventoId);
+        List<String> chaves = new ArrayList<>();
+        adicionar(chaves, eventoId, nome, SugestaoDto.Tipo.NOME);
+        adicionar(chaves, eventoId, localizacao, SugestaoDto.Tipo.LOCALIZACAO);
+        chavesPorEvento.put(eventoId, chaves);
+    }
+
+    synchronized void remover(Long eventoId) {
+        List<String> chaves = chavesPorEvento.remove(eventoId);
+        if (chaves != null) desvincular(chaves, eventoId);
+    }
+
+    int eventos() {
+        return chavesPorEvento.size();
+    }
+
+    int chaves() {
+        return entradas.size();
+    }
+
+    boolean contem(Long eventoId) {
+        return chavesPorEvento.containsKey(eventoId);
+    }
+
+    /**
+     * Até {@code limite} sugestões distintas (mesmo texto e tipo contam uma vez), em ordem alfabética.
+     */
+    List<SugestaoDto> buscar(String prefixo, int limite) {
+        String chave = dobrar(prefixo);
+        if (chave.isEmpty()) return List.of();
+
+        // o mesmo texto só se repete aqui quando o prefixo casa com mais de uma palavra dele
+        Map<String, SugestaoDto> distintas = new LinkedHashMap<>();
+        for (Map.Entry<String, Entrada> item : entradas.subMap(chave, true, chave + Character.MAX_VALUE, false).entrySet()) {
+            Entrada entrada = item.getValue();
+            Long eventoId = entrada.algumEvento();
+            if (eventoId == null) continue;
+            String chaveItem = item.getKey();
+            distintas.putIfAbsent(chaveItem.substring(chaveItem.indexOf(SEPARADOR) + 1),
+                    new SugestaoDto(entrada.texto, entrada.tipo, eventoId));
+            if (distintas.size() >= limite) break;
+        }
+        return new ArrayList<>(distintas.values());
+    }
+
+    private void adicionar(List<String> chaves, Long eventoId, String texto, SugestaoDto.Tipo tipo) {
+        if (texto == null || texto.isBlank()) return;
+        String original = texto.strip();
+        String dobrado = dobrar(original);
+        if (dobrado.length() > MAX_CARACTERES) dobrado = dobrado.substring(0, MAX_CARACTERES);
+
+        String sufixoDaChave = String.valueOf(SEPARADOR) + tipo.ordinal() + SEPARADOR + dobrado;
+        int inicio = 0;
+        for (int palavra = 0; palavra < MAX_PALAVRAS && inicio < dobrado.length(); palavra++) {
+            String chave = dobrado.substring(inicio) + sufixoDaChave;
+            // a primeira grafia indexada fica como texto da sugestão ("São José" e "Sao Jose" se juntam)
+            entradas.computeIfAbsent(chave, k -> new Entrada(original, tipo)).eventos.add(eventoId);
+            chaves.add(chave);
+            int espaco = dobrado.indexOf(' ', inicio);
+            if (espaco < 0) break;
+            inicio = espaco + 1;
+        }
+    }
+
+    private void desvincular(List<String> chaves, Long eventoId) {
+        for (String chave : chaves) {
+            Entrada entrada = entradas.get(chave);
+            if (entrada == null) continue;
+            entrada.eventos.remove(eventoId);
+            if (entrada.eventos.isEmpty()) entradas.remove(chave, entrada);
+        }
+    }
+
+    // "São  José" -> "sao jose"
+    static String dobrar(String texto) {
+        if (texto == null) return "";
+        String semAcento = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static final class Entrada {
+        final String texto;
+        final SugestaoDto.Tipo tipo;
+        final Set<Long> eventos = ConcurrentHashMap.newKeySet();
+
+        Entrada(String texto, SugestaoDto.Tipo tipo) {
+            this.texto = texto;
+            this.tipo = tipo;
+        }
+
+        // null se o último evento acabou de sair (a entrada está sendo removida)
+        Long algumEvento() {
+            Iterator<Long> it = eventos.iterator();
+            return it.hasNext() ? it.next() : null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package service.eventos.sugestoes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.dto.SugestaoDto;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.exception.RequisicaoInvalidaException;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.EventoTexto;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autocomplete da busca (GET /eventos/sugestoes) servido de memória.
+ * <p>
+ * O índice é montado quando a aplicação sobe e atualizado a cada
+ * EventoAlteradoEvent confirmado. Como outras réplicas não recebem esses
+ * eventos, ele também é reconstruído periodicamente e trocado por inteiro.
+ * Alterações que chegam durante a reconstrução são anotadas e reaplicadas,
+ * a partir do banco, no índice novo logo após a troca.
+ */
+@Slf4j
+@Service
+public class SugestoesService {
+
+    private final EventoRepository eventoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxEventos;
+    private final int maxSugestoes;
+    private volatile IndicePrefixos indice = new IndicePrefixos();
+    // não nulo enquanto uma reconstrução está em andamento
+    private volatile Set<Long> alteradosNaReconstrucao;
+
+    public SugestoesService(
+            EventoRepository eventoRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${eventos.sugestoes.max-eventos:100000}") int maxEventos,
+            @Value("${eventos.sugestoes.max-sugestoes:20}") int maxSugestoes
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxEventos = maxEventos;
+        this.maxSugestoes = maxSugestoes;
+    }
+
+    public List<SugestaoDto> sugerir(String prefixo, int limite) {
+        if (limite < 1 || limite > maxSugestoes) {
+            throw new RequisicaoInvalidaException("O limite deve estar entre 1 e " + maxSugestoes + ".");
+        }
+        return indice.buscar(prefixo, limite);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirNaInicializacao() {
+        reconstruir();
+    }
+
+    @Scheduled(initialDelayString = "${eventos.sugestoes.reconstrucao-ms:300000}",
+            fixedDelayString = "${eventos.sugestoes.reconstrucao-ms:300000}")
+    public synchronized void reconstruir() {
+        Set<Long> alterados = ConcurrentHashMap.newKeySet();
+        alteradosNaReconstrucao = alterados;
+        try {
+            // um a mais só para saber se ficou alguém de fora
+            List<EventoTexto> ativos = transactionTemplate.execute(status ->
+                    eventoRepository.findTextoByStatusOrderByDataAsc(StatusEvento.ATIVO, Limit.of(maxEventos + 1)));
+            if (ativos.size() > maxEventos) {
+                log.warn("Índice de sugestões cheio ({} eventos); os mais distantes ficam de fora.", maxEventos);
+                ativos = ativos.subList(0, maxEventos);
+            }
+            IndicePrefixos novo = new IndicePrefixos();
+            for (EventoTexto evento : ativos) {
+                novo.indexar(evento.getId(), evento.getNome(), evento.getLocalizacao());
+            }
+            indice = novo;
+        } finally {
+            alteradosNaReconstrucao = null;
+        }
+        // o que mudou entre a leitura e a troca foi para o índice antigo; relê do banco
+        if (!alterados.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> alterados.forEach(this::reaplicar));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        // inscrição não muda texto nem status
+        if (evento.tipo() == EventoAlteradoEvent.Tipo.INSCRICAO) return;
+        Set<Long> alterados = alteradosNaReconstrucao;
+        if (alterados != null) {
+            alterados.add(evento.eventoId());
+        }
+        IndicePrefixos atual = indice;
+        if (evento.tipo() == EventoAlteradoEvent.Tipo.REMOVIDO || evento.status() != StatusEvento.ATIVO) {
+            atual.remover(evento.eventoId());
+            return;
+        }
+        if (!atual.contem(evento.eventoId()) && atual.eventos() >= maxEventos) return;
+        eventoRepository.findTextoById(evento.eventoId())
+                .ifPresent(texto -> atual.indexar(texto.getId(), texto.getNome(), texto.getLocalizacao()));
+    }
+
+    private void reaplicar(Long eventoId) {
+        IndicePrefixos atual = indice;
+        EventoTexto texto = eventoRepository.findTextoById(eventoId).orElse(null);
+        if (texto == null || texto.getStatus() != StatusEvento.ATIVO) {
+            atual.remover(eventoId);
+        } else if (atual.contem(eventoId) || atual.eventos() < maxEventos) {
+            atual.indexar(texto.getId(), texto.getNome(), texto.getLocalizacao());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- Status terminal FALHOU: o CancelamentoIngressosJob desiste depois de
+-- eventos.cancelamento.max-tentativas falhas seguidas do ingressos-service.
+-- O registro sai da fila (o índice de pendentes só cobre EM_ANDAMENTO) e fica
+-- visível em GET /eventos/{id}/cancelamento, com ultimo_erro. Para reabrir:
+--   UPDATE cancelamentos_evento SET status = 'EM_ANDAMENTO', tentativas = 0 WHERE evento_id = ...;
+
+ALTER TABLE cancelamentos_evento DROP CONSTRAINT ck_cancelamentos_evento_status;
+ALTER TABLE cancelamentos_evento
+    ADD CONSTRAINT ck_cancelamentos_evento_status CHECK (status IN ('EM_ANDAMENTO', 'CONCLUIDO', 'FALHOU'));
@@ -0,0 +1,23 @@
+-- Ingressos a emitir para os promovidos da lista de espera (outbox).
+-- O PromocaoListaEsperaJob grava a linha na transação da inscrição; o
+-- EmissaoIngressosJob chama o ingressos-service depois do commit, um ingresso
+-- por vez, com backoff e status terminal FALHOU.
+-- Sem FK para eventos: o registro sobrevive ao arquivamento do evento.
+
+CREATE TABLE emissoes_ingresso (
+    id              BIGSERIAL    PRIMARY KEY,
+    evento_id       BIGINT       NOT NULL,
+    participante_id UUID         NOT NULL,
+    status          VARCHAR(32)  NOT NULL,
+    tentativas      INTEGER      NOT NULL DEFAULT 0,
+    ultimo_erro     TEXT,
+    -- reserva do envio por uma réplica; também guarda o backoff depois de uma falha
+    bloqueado_ate   TIMESTAMP(6),
+    criado_em       TIMESTAMP(6) NOT NULL,
+    atualizado_em   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT ck_emissoes_ingresso_status CHECK (status IN ('PENDENTE', 'EMITIDO', 'FALHOU'))
+);
+
+CREATE INDEX idx_emissoes_ingresso_pendentes
+    ON emissoes_ingresso (id)
+    WHERE status = 'PENDENTE';
@@ -0,0 +1,72 @@
+-- Schema inicial do eventos-service.
+--
+-- Bancos criados antes das migrations (ddl-auto=update) já têm as tabelas: por isso
+-- o IF NOT EXISTS e o baseline-version=0, que faz esta versão rodar também neles
+-- e completar apenas o que falta (constraints e índices).
+
+CREATE TABLE IF NOT EXISTS categorias (
+    id   BIGSERIAL    PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_categorias_nome UNIQUE (nome)
+);
+
+CREATE TABLE IF NOT EXISTS eventos (
+    id           BIGSERIAL    PRIMARY KEY,
+    nome         VARCHAR(255) NOT NULL,
+    descricao    TEXT,
+    localizacao  VARCHAR(255) NOT NULL,
+    data         TIMESTAMP(6) NOT NULL,
+    capacidade   INTEGER      NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    organizer_id UUID         NOT NULL,
+    categoria_id BIGINT       NOT NULL,
+    CONSTRAINT fk_eventos_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id),
+    CONSTRAINT ck_eventos_status CHECK (status IN ('ATIVO', 'INATIVO', 'CANCELADO', 'CONCLUIDO')),
+    CONSTRAINT ck_eventos_capacidade CHECK (capacidade >= 1)
+);
+
+CREATE TABLE IF NOT EXISTS evento_participantes (
+    evento_id       BIGINT NOT NULL,
+    participante_id UUID   NOT NULL,
+    CONSTRAINT fk_evento_participantes_evento FOREIGN KEY (evento_id) REFERENCES eventos (id),
+    CONSTRAINT pk_evento_participantes PRIMARY KEY (evento_id, participante_id)
+);
+
+-- tabelas antigas podem ter ficado sem chave: garante a unicidade (evento, participante)
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'evento_participantes'::regclass AND contype IN ('p', 'u')
+    ) THEN
+        ALTER TABLE evento_participantes
+            ADD CONSTRAINT uk_evento_participantes UNIQUE (evento_id, participante_id);
+    END IF;
+END $$;
+
+-- GET /eventos/meus-eventos
+CREATE INDEX IF NOT EXISTS idx_eventos_organizer
+    ON eventos (organizer_id);
+
+-- GET /eventos/minhas-inscricoes (a chave acima já cobre as buscas por evento_id)
+CREATE INDEX IF NOT EXISTS idx_evento_participantes_participante
+    ON evento_participantes (participante_id, evento_id);
+
+-- Catálogo (GET /eventos): todos começam por status e terminam em data, a
+-- ordenação padrão, para que o LIMIT da paginação seja resolvido pelo índice.
+
+-- sem filtro / intervalo de datas
+CREATE INDEX IF NOT EXISTS idx_eventos_status_data
+    ON eventos (status, data);
+
+-- categoria (+ intervalo de datas)
+CREATE INDEX IF NOT EXISTS idx_eventos_status_categoria_data
+    ON eventos (status, categoria_id, data);
+
+-- prefixo de localização sem diferenciar maiúsculas; varchar_pattern_ops permite
+-- LIKE 'x%' em índice mesmo com collation diferente de "C"
+CREATE INDEX IF NOT EXISTS idx_eventos_status_localizacao
+    ON eventos (status, lower(localizacao) varchar_pattern_ops, data);
+
+-- criado pelo antigo schema.sql; redundante com a chave (evento_id, participante_id)
+DROP INDEX IF EXISTS idx_evento_participantes_evento;
@@ -0,0 +1,27 @@
+-- Arquivo frio dos eventos CONCLUIDO/CANCELADO antigos (ArquivamentoEventosJob).
+-- Mesmas colunas das tabelas quentes; o id é copiado, não gerado.
+
+CREATE TABLE eventos_arquivo (
+    id           BIGINT       PRIMARY KEY,
+    nome         VARCHAR(255) NOT NULL,
+    descricao    TEXT,
+    localizacao  VARCHAR(255) NOT NULL,
+    data         TIMESTAMP(6) NOT NULL,
+    capacidade   INTEGER      NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    organizer_id UUID         NOT NULL,
+    categoria_id BIGINT       NOT NULL,
+    arquivado_em TIMESTAMP(6) NOT NULL DEFAULT now(),
+    CONSTRAINT fk_eventos_arquivo_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id)
+);
+
+CREATE TABLE evento_participantes_arquivo (
+    evento_id       BIGINT NOT NULL,
+    participante_id UUID   NOT NULL,
+    CONSTRAINT fk_evento_participantes_arquivo_evento FOREIGN KEY (evento_id) REFERENCES eventos_arquivo (id),
+    CONSTRAINT pk_evento_participantes_arquivo PRIMARY KEY (evento_id, participante_id)
+);
+
+-- GET /eventos/minhas-inscricoes?arquivadas=true
+CREATE INDEX idx_evento_participantes_arquivo_participante
+    ON evento_participantes_arquivo (participante_id, evento_id);
@@ -0,0 +1,23 @@
+-- Progresso do cancelamento em massa de um evento (liberação dos ingressos em lotes).
+-- Sem FK para eventos: o registro sobrevive ao arquivamento do evento.
+
+CREATE TABLE cancelamentos_evento (
+    evento_id           BIGINT       PRIMARY KEY,
+    organizer_id        UUID         NOT NULL,
+    status              VARCHAR(32)  NOT NULL,
+    total_participantes INTEGER      NOT NULL,
+    processados         INTEGER      NOT NULL DEFAULT 0,
+    -- cursor: último participante já enviado ao ingressos-service (ordem de participante_id)
+    ultimo_participante UUID,
+    tentativas          INTEGER      NOT NULL DEFAULT 0,
+    ultimo_erro         TEXT,
+    -- reserva do processamento por uma réplica; expira se ela morrer
+    bloqueado_ate       TIMESTAMP(6),
+    criado_em           TIMESTAMP(6) NOT NULL,
+    atualizado_em       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT ck_cancelamentos_evento_status CHECK (status IN ('EM_ANDAMENTO', 'CONCLUIDO'))
+);
+
+CREATE INDEX idx_cancelamentos_evento_pendentes
+    ON cancelamentos_evento (atualizado_em)
+    WHERE status = 'EM_ANDAMENTO';
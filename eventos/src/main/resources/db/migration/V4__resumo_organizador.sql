@@ -0,0 +1,31 @@
+-- Agregados por organizador para GET /eventos/meus-eventos/resumo.
+-- Mantidos por deltas a cada criação/alteração/remoção/inscrição e recalculados
+-- periodicamente (RecalculoResumoOrganizadorJob) para corrigir desvios.
+-- Contam também os eventos já arquivados.
+
+CREATE TABLE organizador_resumo (
+    organizer_id      UUID         PRIMARY KEY,
+    total_eventos     BIGINT       NOT NULL DEFAULT 0,
+    total_inscricoes  BIGINT       NOT NULL DEFAULT 0,
+    capacidade_total  BIGINT       NOT NULL DEFAULT 0,
+    -- eventos ATIVO (ainda por acontecer) sem vagas
+    esgotados_ativos  BIGINT       NOT NULL DEFAULT 0,
+    atualizado_em     TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO organizador_resumo (organizer_id, total_eventos, total_inscricoes, capacidade_total, esgotados_ativos, atualizado_em)
+SELECT t.organizer_id, count(*), sum(t.inscritos), sum(t.capacidade),
+       count(*) FILTER (WHERE t.esgotado), now()
+FROM (
+    SELECT e.organizer_id, e.capacidade, coalesce(p.n, 0) AS inscritos,
+           (e.status = 'ATIVO' AND coalesce(p.n, 0) >= e.capacidade) AS esgotado
+    FROM eventos e
+    LEFT JOIN (SELECT evento_id, count(*) AS n FROM evento_participantes GROUP BY evento_id) p
+           ON p.evento_id = e.id
+    UNION ALL
+    SELECT a.organizer_id, a.capacidade, coalesce(p.n, 0), false
+    FROM eventos_arquivo a
+    LEFT JOIN (SELECT evento_id, count(*) AS n FROM evento_participantes_arquivo GROUP BY evento_id) p
+           ON p.evento_id = a.id
+) t
+GROUP BY t.organizer_id;
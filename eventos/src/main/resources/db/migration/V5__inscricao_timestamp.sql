@@ -0,0 +1,12 @@
+-- Momento da inscrição, para a listagem paginada de participantes.
+-- Inscrições anteriores a esta migração ficam com o instante da migração.
+
+ALTER TABLE evento_participantes
+    ADD COLUMN inscrito_em TIMESTAMP(6) NOT NULL DEFAULT now();
+
+ALTER TABLE evento_participantes_arquivo
+    ADD COLUMN inscrito_em TIMESTAMP(6) NOT NULL DEFAULT now();
+
+-- GET /eventos/{id}/participantes: paginação por (inscrito_em, participante_id)
+CREATE INDEX idx_evento_participantes_inscricao
+    ON evento_participantes (evento_id, inscrito_em, participante_id);
@@ -0,0 +1,15 @@
+-- Lista de espera FIFO por evento (POST /eventos/{id}/lista-espera).
+-- A ordem é a do id; o PromocaoListaEsperaJob consome pela frente.
+-- ON DELETE CASCADE: some junto com o evento (exclusão ou arquivamento).
+
+CREATE TABLE lista_espera (
+    id              BIGSERIAL    PRIMARY KEY,
+    evento_id       BIGINT       NOT NULL,
+    participante_id UUID         NOT NULL,
+    entrou_em       TIMESTAMP(6) NOT NULL DEFAULT now(),
+    CONSTRAINT fk_lista_espera_evento FOREIGN KEY (evento_id) REFERENCES eventos (id) ON DELETE CASCADE,
+    CONSTRAINT uk_lista_espera_evento_participante UNIQUE (evento_id, participante_id)
+);
+
+-- frente da fila de um evento
+CREATE INDEX idx_lista_espera_evento_ordem ON lista_espera (evento_id, id);
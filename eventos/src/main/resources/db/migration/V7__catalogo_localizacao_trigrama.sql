@@ -0,0 +1,25 @@
+-- Filtro de localização do catálogo (GET /eventos?localizacao=).
+--
+-- idx_eventos_status_localizacao (V1) não entregava a ordem por data: depois de
+-- um intervalo em lower(localizacao), a coluna data não sai ordenada, então o
+-- Postgres ordenava de qualquer forma. E categoria + localização não tinha índice.
+--
+-- Agora são dois caminhos e o planejador escolhe pelas estatísticas:
+--  * prefixo seletivo: GIN de trigramas em lower(localizacao), com categoria_id
+--    (btree_gin) na mesma chave. GIN multicoluna atende qualquer subconjunto das
+--    colunas, então serve localização sozinha e categoria + localização; as
+--    poucas linhas encontradas são ordenadas por data (top-N).
+--  * prefixo pouco seletivo (uma cidade com boa parte do catálogo): percorre
+--    idx_eventos_status_data / idx_eventos_status_categoria_data já na ordem de
+--    data e para no LIMIT, filtrando a localização pelo caminho.
+--
+-- Parcial em ATIVO: o catálogo só lista eventos ativos.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+DROP INDEX IF EXISTS idx_eventos_status_localizacao;
+
+CREATE INDEX IF NOT EXISTS idx_eventos_ativos_categoria_localizacao_trgm
+    ON eventos USING gin (categoria_id, lower(localizacao) gin_trgm_ops)
+    WHERE status = 'ATIVO';
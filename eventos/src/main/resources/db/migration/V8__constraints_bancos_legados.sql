@@ -0,0 +1,58 @@
+-- Constraints de V1 em bancos criados pelo antigo ddl-auto=update.
+--
+-- Nesses bancos o CREATE TABLE IF NOT EXISTS de V1 não fez nada: as tabelas já
+-- existiam, então as FKs, CHECKs e a unicidade de categorias.nome só existem se o
+-- Hibernate as tiver criado (com outro nome). Cada passo abaixo confere pela
+-- definição, não pelo nome, e só adiciona o que falta; em bancos novos não faz nada.
+-- Se houver dado que viole a regra, a migração falha e aponta a constraint.
+
+DO $$
+BEGIN
+    -- categorias.nome único
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint c
+        WHERE c.conrelid = 'categorias'::regclass AND c.contype IN ('u', 'p')
+          AND c.conkey = ARRAY[(SELECT attnum FROM pg_attribute
+                                WHERE attrelid = 'categorias'::regclass AND attname = 'nome')]
+    ) THEN
+        ALTER TABLE categorias ADD CONSTRAINT uk_categorias_nome UNIQUE (nome);
+    END IF;
+
+    -- eventos.categoria_id -> categorias
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'eventos'::regclass AND contype = 'f'
+          AND confrelid = 'categorias'::regclass
+    ) THEN
+        ALTER TABLE eventos
+            ADD CONSTRAINT fk_eventos_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id);
+    END IF;
+
+    -- evento_participantes.evento_id -> eventos
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'evento_participantes'::regclass AND contype = 'f'
+          AND confrelid = 'eventos'::regclass
+    ) THEN
+        ALTER TABLE evento_participantes
+            ADD CONSTRAINT fk_evento_participantes_evento FOREIGN KEY (evento_id) REFERENCES eventos (id);
+    END IF;
+
+    -- CHECKs com nome próprio; um CHECK equivalente gerado pelo Hibernate pode
+    -- coexistir, o custo é uma comparação a mais por escrita
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'eventos'::regclass AND conname = 'ck_eventos_status'
+    ) THEN
+        ALTER TABLE eventos
+            ADD CONSTRAINT ck_eventos_status CHECK (status IN ('ATIVO', 'INATIVO', 'CANCELADO', 'CONCLUIDO'));
+    END IF;
+
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'eventos'::regclass AND conname = 'ck_eventos_capacidade'
+    ) THEN
+        ALTER TABLE eventos
+            ADD CONSTRAINT ck_eventos_capacidade CHECK (capacidade >= 1);
+    END IF;
+END $$;
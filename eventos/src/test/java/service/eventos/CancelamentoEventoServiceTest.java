@@ -0,0 +1,78 @@
+package service.eventos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import service.eventos.dto.CancelamentoDto;
+import service.eventos.model.CancelamentoEvento;
+import service.eventos.model.StatusCancelamento;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.CancelamentoEventoRepository;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.EventoResumo;
+import service.eventos.service.CancelamentoEventoService;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CancelamentoEventoServiceTest {
+
+    private static final Long EVENTO_ID = 1L;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private CancelamentoEventoRepository cancelamentoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CancelamentoEventoService service;
+    private final UUID organizerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new CancelamentoEventoService(eventoRepository, cancelamentoRepository, eventPublisher);
+        EventoResumo resumo = mock(EventoResumo.class);
+        when(resumo.getOrganizerId()).thenReturn(organizerId);
+        when(resumo.getStatus()).thenReturn(StatusEvento.ATIVO);
+        when(eventoRepository.findResumoById(EVENTO_ID)).thenReturn(Optional.of(resumo));
+    }
+
+    @Test
+    void cancelamentoConcorrenteDevolveOAndamentoJaAberto() {
+        CancelamentoEvento outro = new CancelamentoEvento();
+        outro.setEventoId(EVENTO_ID);
+        outro.setStatus(StatusCancelamento.EM_ANDAMENTO);
+        // o status lido ainda era ATIVO, mas outra transação cancelou antes do UPDATE
+        when(cancelamentoRepository.findById(EVENTO_ID)).thenReturn(Optional.empty(), Optional.of(outro));
+        when(eventoRepository.trocarStatus(EVENTO_ID, StatusEvento.ATIVO, StatusEvento.CANCELADO)).thenReturn(0);
+
+        CancelamentoDto dto = service.cancelarEvento(EVENTO_ID, organizerId);
+
+        assertEquals(StatusCancelamento.EM_ANDAMENTO, dto.getStatus());
+        verify(cancelamentoRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void naoSobrescreveEventoConcluidoEnquantoIsso() {
+        when(cancelamentoRepository.findById(EVENTO_ID)).thenReturn(Optional.empty());
+        // ConclusaoEventosJob passou o evento para CONCLUIDO entre a leitura e o UPDATE
+        when(eventoRepository.trocarStatus(EVENTO_ID, StatusEvento.ATIVO, StatusEvento.CANCELADO)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> service.cancelarEvento(EVENTO_ID, organizerId));
+        verify(cancelamentoRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
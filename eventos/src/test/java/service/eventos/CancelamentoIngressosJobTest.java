@@ -0,0 +1,176 @@
+package service.eventos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import service.eventos.client.IngressosClient;
+import service.eventos.model.CancelamentoEvento;
+import service.eventos.model.StatusCancelamento;
+import service.eventos.repository.CancelamentoEventoRepository;
+import service.eventos.repository.EventoRepository;
+import service.eventos.service.CancelamentoIngressosJob;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CancelamentoIngressosJobTest {
+
+    @Mock
+    private CancelamentoEventoRepository cancelamentoRepository;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private IngressosClient ingressosClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CancelamentoIngressosJob job;
+    private CancelamentoEvento cancelamento;
+
+    @BeforeEach
+    void setUp() {
+        job = new CancelamentoIngressosJob(cancelamentoRepository, eventoRepository, ingressosClient,
+                transactionTemplate, 2, 0, 10, Duration.ofMinutes(2),
+                3, Duration.ofSeconds(30), Duration.ofMinutes(30));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        cancelamento = new CancelamentoEvento();
+        cancelamento.setEventoId(1L);
+        cancelamento.setOrganizerId(UUID.randomUUID());
+        cancelamento.setStatus(StatusCancelamento.EM_ANDAMENTO);
+        cancelamento.setTotalParticipantes(3);
+        cancelamento.setProcessados(0);
+        cancelamento.setTentativas(0);
+        cancelamento.setCriadoEm(LocalDateTime.now());
+        cancelamento.setAtualizadoEm(LocalDateTime.now());
+        when(cancelamentoRepository.findById(1L)).thenReturn(Optional.of(cancelamento));
+        when(cancelamentoRepository.buscarProximoPendente(any()))
+                .thenReturn(Optional.of(1L))
+                .thenReturn(Optional.empty());
+    }
+
+    @Test
+    void deveLiberarIngressosEmLotesAvancandoOCursor() {
+        UUID a = new UUID(0, 1), b = new UUID(0, 2), c = new UUID(0, 3);
+        when(eventoRepository.buscarParticipantesApos(eq(1L), any(), eq(2)))
+                .thenReturn(List.of(a, b))
+                .thenReturn(List.of(c))
+                .thenReturn(List.of());
+
+        job.processarPendentes();
+
+        verify(ingressosClient).cancelTickets(1L, List.of(a, b));
+        verify(ingressosClient).cancelTickets(1L, List.of(c));
+        // o segundo lote parte do último participante do primeiro
+        verify(eventoRepository).buscarParticipantesApos(1L, b, 2);
+        assertEquals(StatusCancelamento.CONCLUIDO, cancelamento.getStatus());
+        assertEquals(3, cancelamento.getProcessados());
+        assertEquals(c, cancelamento.getUltimoParticipante());
+    }
+
+    @Test
+    void deveRetomarDoCursorGravado() {
+        UUID b = new UUID(0, 2), c = new UUID(0, 3);
+        cancelamento.setUltimoParticipante(b);
+        cancelamento.setProcessados(2);
+        when(eventoRepository.buscarParticipantesApos(1L, b, 2)).thenReturn(List.of(c));
+        when(eventoRepository.buscarParticipantesApos(1L, c, 2)).thenReturn(List.of());
+
+        job.processarPendentes();
+
+        verify(ingressosClient).cancelTickets(1L, List.of(c));
+        assertEquals(3, cancelamento.getProcessados());
+        assertEquals(StatusCancelamento.CONCLUIDO, cancelamento.getStatus());
+    }
+
+    @Test
+    void deveManterCursorQuandoIngressosFalha() {
+        UUID a = new UUID(0, 1);
+        when(eventoRepository.buscarParticipantesApos(eq(1L), any(), anyInt())).thenReturn(List.of(a));
+        doThrow(new ResourceAccessException("timeout")).when(ingressosClient).cancelTickets(any(), any());
+
+        job.processarPendentes();
+
+        assertNull(cancelamento.getUltimoParticipante());
+        assertEquals(0, cancelamento.getProcessados());
+        assertEquals(1, cancelamento.getTentativas());
+        assertEquals(StatusCancelamento.EM_ANDAMENTO, cancelamento.getStatus());
+        // nova tentativa só depois da espera da primeira falha
+        assertNotNull(cancelamento.getBloqueadoAte());
+        assertTrue(cancelamento.getBloqueadoAte().isAfter(LocalDateTime.now().plusSeconds(25)));
+    }
+
+    @Test
+    void deveMarcarFalhouAposMaxTentativasSeguidas() {
+        UUID a = new UUID(0, 1);
+        cancelamento.setTentativas(2);
+        when(eventoRepository.buscarParticipantesApos(eq(1L), any(), anyInt())).thenReturn(List.of(a));
+        doThrow(new ResourceAccessException("timeout")).when(ingressosClient).cancelTickets(any(), any());
+
+        job.processarPendentes();
+
+        assertEquals(3, cancelamento.getTentativas());
+        assertEquals(StatusCancelamento.FALHOU, cancelamento.getStatus());
+        assertEquals("timeout", cancelamento.getUltimoErro());
+        assertNull(cancelamento.getBloqueadoAte());
+    }
+
+    @Test
+    void esperaDobraACadaFalhaSeguida() {
+        UUID a = new UUID(0, 1);
+        cancelamento.setTentativas(1);
+        when(eventoRepository.buscarParticipantesApos(eq(1L), any(), anyInt())).thenReturn(List.of(a));
+        doThrow(new ResourceAccessException("timeout")).when(ingressosClient).cancelTickets(any(), any());
+
+        LocalDateTime antes = LocalDateTime.now();
+        job.processarPendentes();
+
+        // segunda falha: 30s * 2
+        assertEquals(StatusCancelamento.EM_ANDAMENTO, cancelamento.getStatus());
+        assertFalse(cancelamento.getBloqueadoAte().isBefore(antes.plusSeconds(60)));
+        assertTrue(cancelamento.getBloqueadoAte().isBefore(antes.plusSeconds(65)));
+    }
+
+    @Test
+    void disparoAgendadoRodaForaDaThreadDoAgendador() {
+        UUID a = new UUID(0, 1);
+        AtomicReference<Thread> executou = new AtomicReference<>();
+        when(eventoRepository.buscarParticipantesApos(eq(1L), any(), anyInt()))
+                .thenReturn(List.of(a))
+                .thenReturn(List.of());
+        doAnswer(invocation -> {
+            executou.set(Thread.currentThread());
+            return null;
+        }).when(ingressosClient).cancelTickets(any(), any());
+
+        job.disparar();
+
+        verify(ingressosClient, timeout(2000)).cancelTickets(1L, List.of(a));
+        assertNotSame(Thread.currentThread(), executou.get());
+    }
+}
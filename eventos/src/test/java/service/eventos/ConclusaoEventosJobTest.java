@@ -0,0 +1,75 @@
+package service.eventos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.ResumoOrganizadorRepository;
+import service.eventos.service.ConclusaoEventosJob;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConclusaoEventosJobTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private ResumoOrganizadorRepository resumoOrganizadorRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ConclusaoEventosJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new ConclusaoEventosJob(eventoRepository, resumoOrganizadorRepository, transactionTemplate, eventPublisher, 2, 10);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void deveConcluirEmLotesAteEsgotar() {
+        when(eventoRepository.tentarTravaDeJob(anyLong())).thenReturn(true);
+        when(eventoRepository.buscarIdsAtivosRealizadosAte(any(), eq(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        job.concluirEventosRealizados();
+
+        verify(eventoRepository).atualizarStatus(List.of(1L, 2L), StatusEvento.CONCLUIDO);
+        verify(eventoRepository).atualizarStatus(List.of(3L), StatusEvento.CONCLUIDO);
+        verify(resumoOrganizadorRepository).descontarEsgotados(List.of(1L, 2L));
+        verify(eventoRepository, times(2)).buscarIdsAtivosRealizadosAte(any(), anyInt());
+        verify(eventPublisher).publishEvent(
+                new EventoAlteradoEvent(3L, EventoAlteradoEvent.Tipo.STATUS, 0, StatusEvento.CONCLUIDO));
+    }
+
+    @Test
+    void naoDeveProcessarSemATrava() {
+        when(eventoRepository.tentarTravaDeJob(anyLong())).thenReturn(false);
+
+        job.concluirEventosRealizados();
+
+        verify(eventoRepository, never()).buscarIdsAtivosRealizadosAte(any(), anyInt());
+        verify(eventoRepository, never()).atualizarStatus(any(), any());
+    }
+}
@@ -0,0 +1,108 @@
+package service.eventos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import service.eventos.client.IngressosClient;
+import service.eventos.commons.PaymentMethod;
+import service.eventos.model.EmissaoIngresso;
+import service.eventos.model.StatusEmissaoIngresso;
+import service.eventos.repository.EmissaoIngressoRepository;
+import service.eventos.service.EmissaoIngressosJob;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmissaoIngressosJobTest {
+
+    @Mock
+    private EmissaoIngressoRepository emissaoRepository;
+
+    @Mock
+    private IngressosClient ingressosClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private EmissaoIngressosJob job;
+    private EmissaoIngresso a;
+    private EmissaoIngresso b;
+
+    @BeforeEach
+    void setUp() {
+        job = new EmissaoIngressosJob(emissaoRepository, ingressosClient, transactionTemplate,
+                10, Duration.ofMinutes(2), 3, Duration.ofSeconds(30), Duration.ofMinutes(30));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        a = pendente(1L);
+        b = pendente(2L);
+        when(emissaoRepository.buscarPendentes(any(), anyInt())).thenReturn(List.of(1L, 2L));
+        when(emissaoRepository.findById(1L)).thenReturn(Optional.of(a));
+        when(emissaoRepository.findById(2L)).thenReturn(Optional.of(b));
+    }
+
+    @Test
+    void deveEmitirUmIngressoPorPromovido() {
+        job.emitirPendentes();
+
+        verify(emissaoRepository).reservar(eq(List.of(1L, 2L)), any());
+        verify(ingressosClient).createTicket(7L, a.getParticipanteId(), PaymentMethod.PIX);
+        verify(ingressosClient).createTicket(7L, b.getParticipanteId(), PaymentMethod.PIX);
+        assertEquals(StatusEmissaoIngresso.EMITIDO, a.getStatus());
+        assertEquals(StatusEmissaoIngresso.EMITIDO, b.getStatus());
+    }
+
+    @Test
+    void falhaAdiaSoOIngressoQueFalhou() {
+        when(ingressosClient.createTicket(7L, a.getParticipanteId(), PaymentMethod.PIX))
+                .thenThrow(new ResourceAccessException("timeout"));
+
+        LocalDateTime antes = LocalDateTime.now();
+        job.emitirPendentes();
+
+        assertEquals(StatusEmissaoIngresso.PENDENTE, a.getStatus());
+        assertEquals(1, a.getTentativas());
+        assertEquals("timeout", a.getUltimoErro());
+        assertFalse(a.getBloqueadoAte().isBefore(antes.plusSeconds(30)));
+        assertEquals(StatusEmissaoIngresso.EMITIDO, b.getStatus());
+    }
+
+    @Test
+    void deveMarcarFalhouAposMaxTentativasSeguidas() {
+        a.setTentativas(2);
+        when(ingressosClient.createTicket(7L, a.getParticipanteId(), PaymentMethod.PIX))
+                .thenThrow(new ResourceAccessException("timeout"));
+
+        job.emitirPendentes();
+
+        assertEquals(StatusEmissaoIngresso.FALHOU, a.getStatus());
+        assertEquals(3, a.getTentativas());
+        assertNull(a.getBloqueadoAte());
+    }
+
+    private EmissaoIngresso pendente(Long id) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new EmissaoIngresso(id, 7L, UUID.randomUUID(), StatusEmissaoIngresso.PENDENTE, 0, null, null, agora, agora);
+    }
+}
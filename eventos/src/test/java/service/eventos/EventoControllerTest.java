@@ -1,35 +1,65 @@
 package service.eventos;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import service.eventos.Security.SecurityConfig;
+import service.eventos.config.EventosProtobufHttpMessageConverter;
 import service.eventos.controller.EventoController;
+import service.eventos.dto.CancelamentoDto;
+import service.eventos.dto.CategoriaDto;
+import service.eventos.dto.EventoLoteRespostaDto;
 import service.eventos.dto.EventoRequisicaoDto;
 import service.eventos.dto.EventoRespostaDto;
+import service.eventos.dto.ListaEsperaDto;
+import service.eventos.dto.ResumoOrganizadorDto;
+import service.eventos.emalta.RankingEmAlta;
+import service.eventos.sugestoes.SugestoesService;
+import service.eventos.model.StatusCancelamento;
+import service.eventos.model.StatusEvento;
+import service.eventos.service.CancelamentoEventoService;
 import service.eventos.service.EventoService;
+import service.eventos.service.ResumoOrganizadorService;
+import service.eventos.service.IdempotenciaService;
+import service.eventos.service.ListaEsperaService;
+import service.eventos.service.VagasStreamService;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
-import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EventoController.class)
+@Import({SecurityConfig.class, IdempotenciaService.class})
 class EventoControllerTest {
 
     @Autowired
@@ -41,6 +71,24 @@ class EventoControllerTest {
     @MockitoBean
     private EventoService eventoService;
 
+    @MockitoBean
+    private VagasStreamService vagasStreamService;
+
+    @MockitoBean
+    private CancelamentoEventoService cancelamentoEventoService;
+
+    @MockitoBean
+    private ResumoOrganizadorService resumoOrganizadorService;
+
+    @MockitoBean
+    private RankingEmAlta rankingEmAlta;
+
+    @MockitoBean
+    private SugestoesService sugestoesService;
+
+    @MockitoBean
+    private ListaEsperaService listaEsperaService;
+
     private UUID organizerId;
     private UUID clienteId;
 
@@ -67,13 +115,31 @@ class EventoControllerTest {
     @Test
     void deveListarEventosDisponiveis() throws Exception {
         Page<EventoRespostaDto> paginaDeEventos = new PageImpl<>(List.of(new EventoRespostaDto()));
-        when(eventoService.listarEventosDisponiveis(any())).thenReturn(paginaDeEventos);
+        when(eventoService.listarEventosDisponiveis(any(), any())).thenReturn(paginaDeEventos);
 
         mockMvc.perform(get("/eventos")
                         .param("page", "0")
-                        .param("size", "10")
-                        .with(user("testuser")))
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveRepassarFiltrosDoCatalogo() throws Exception {
+        when(eventoService.listarEventosDisponiveis(any(), any())).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/eventos")
+                        .param("categoriaId", "3")
+                        .param("dataInicio", "2030-01-01T00:00:00")
+                        .param("localizacao", "São")
+                        .param("comVagas", "true"))
                 .andExpect(status().isOk());
+
+        verify(eventoService).listarEventosDisponiveis(argThat(filtro ->
+                filtro.getCategoriaId() == 3L
+                        && filtro.getDataInicio().equals(LocalDateTime.of(2030, 1, 1, 0, 0))
+                        && filtro.getDataFim() == null
+                        && "São".equals(filtro.getLocalizacao())
+                        && Boolean.TRUE.equals(filtro.getComVagas())), any());
     }
 
     @Test
@@ -82,12 +148,23 @@ class EventoControllerTest {
         evento.setId(1L);
         when(eventoService.buscarPorId(1L)).thenReturn(evento);
 
-        mockMvc.perform(get("/eventos/{id}", 1L)
-                        .with(user("testuser")))
+        mockMvc.perform(get("/eventos/{id}", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void deveBuscarEventosEmLote() throws Exception {
+        EventoRespostaDto evento = new EventoRespostaDto();
+        evento.setId(1L);
+        when(eventoService.buscarEmLote(List.of(1L, 2L)))
+                .thenReturn(new EventoLoteRespostaDto(List.of(evento), List.of(2L)));
+
+        mockMvc.perform(get("/eventos/lote").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eventos[0].id").value(1L))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(2L));
+    }
 
     //Testes de organizador
 
@@ -105,8 +182,7 @@ class EventoControllerTest {
                         .header("X-User-Id", organizerId.toString())
                         .header("X-User-Roles", "ORGANIZADOR")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(requisicao))
-                        .with(user("testuser")).with(csrf()))
+                        .content(objectMapper.writeValueAsString(requisicao)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.nome").value("Show de Lançamento"));
@@ -121,8 +197,7 @@ class EventoControllerTest {
                         .header("X-User-Id", organizerId.toString())
                         .header("X-User-Roles", "ORGANIZADOR")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(requisicaoInvalida))
-                        .with(user("testuser")).with(csrf()))
+                        .content(objectMapper.writeValueAsString(requisicaoInvalida)))
                 .andExpect(status().isBadRequest());
     }
 
@@ -134,11 +209,32 @@ class EventoControllerTest {
                         .header("X-User-Id", organizerId.toString())
                         .header("X-User-Roles", "CLIENTE")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(requisicao))
-                        .with(user("testuser")).with(csrf()))
+                        .content(objectMapper.writeValueAsString(requisicao)))
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void deveRejeitarAntesDeValidarBodySeRoleNaoForOrganizador() throws Exception {
+        EventoRequisicaoDto requisicaoInvalida = new EventoRequisicaoDto();
+
+        mockMvc.perform(post("/eventos/criar-evento")
+                        .header("X-User-Id", clienteId.toString())
+                        .header("X-User-Roles", "CLIENTE")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requisicaoInvalida)))
+                .andExpect(status().isForbidden())
+                .andExpect(content().string("Apenas ORGANIZADOR pode criar evento."));
+        verify(eventoService, never()).criarEvento(any(), any());
+    }
+
+    @Test
+    void naoDeveAutenticarComUserIdMalformado() throws Exception {
+        mockMvc.perform(get("/eventos/meus-eventos")
+                        .header("X-User-Id", "nao-e-um-uuid")
+                        .header("X-User-Roles", "ORGANIZADOR"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void deveBuscarEventosDoOrganizadorERetornarPagina() throws Exception {
         EventoRespostaDto eventoDto = new EventoRespostaDto();
@@ -151,8 +247,7 @@ class EventoControllerTest {
                         .header("X-User-Id", organizerId.toString())
                         .header("X-User-Roles", "ORGANIZADOR")
                         .param("page", "0")
-                        .param("size", "10")
-                        .with(user("testuser")))
+                        .param("size", "10"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].id").value(10L))
                 .andExpect(jsonPath("$.totalPages").value(1));
@@ -165,8 +260,7 @@ class EventoControllerTest {
 
         mockMvc.perform(delete("/eventos/{eventoId}", eventoId)
                         .header("X-User-Id", organizerId.toString())
-                        .header("X-User-Roles", "ORGANIZADOR")
-                        .with(user("testuser")).with(csrf()))
+                        .header("X-User-Roles", "ORGANIZADOR"))
                 .andExpect(status().isNoContent());
     }
 
@@ -179,19 +273,32 @@ class EventoControllerTest {
 
         mockMvc.perform(post("/eventos/{eventoId}/inscrever", eventoId)
                         .header("X-User-Id", clienteId.toString())
-                        .header("X-User-Roles", "CLIENTE")
-                        .with(user("testuser")).with(csrf()))
+                        .header("X-User-Roles", "CLIENTE"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void deveRepetirRespostaSemReexecutarComMesmaIdempotencyKey() throws Exception {
+        Long eventoId = 1L;
+        doNothing().when(eventoService).inscreverEmEvento(eventoId, clienteId);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/eventos/{eventoId}/inscrever", eventoId)
+                            .header("X-User-Id", clienteId.toString())
+                            .header("X-User-Roles", "CLIENTE")
+                            .header("Idempotency-Key", "chave-1"))
+                    .andExpect(status().isOk());
+        }
+        verify(eventoService, times(1)).inscreverEmEvento(eventoId, clienteId);
+    }
+
     @Test
     void naoDeveInscreverSeNaoForCliente() throws Exception {
         Long eventoId = 1L;
 
         mockMvc.perform(post("/eventos/{eventoId}/inscrever", eventoId)
                         .header("X-User-Id", organizerId.toString())
-                        .header("X-User-Roles", "ORGANIZADOR")
-                        .with(user("testuser")).with(csrf()))
+                        .header("X-User-Roles", "ORGANIZADOR"))
                 .andExpect(status().isForbidden())
                 .andExpect(content().string("Apenas CLIENTE pode se inscrever."));
     }
@@ -200,12 +307,22 @@ class EventoControllerTest {
     void naoDeveInscreverSeNaoAutenticado() throws Exception {
         Long eventoId = 1L;
 
-        mockMvc.perform(post("/eventos/{eventoId}/inscrever", eventoId)
-                        .with(user("testuser")).with(csrf()))
+        mockMvc.perform(post("/eventos/{eventoId}/inscrever", eventoId))
                 .andExpect(status().isUnauthorized())
                 .andExpect(content().string("Usuário não autenticado."));
     }
 
+    @Test
+    void deveEntrarNaListaDeEspera() throws Exception {
+        when(listaEsperaService.entrar(1L, clienteId)).thenReturn(new ListaEsperaDto(1L, 4));
+
+        mockMvc.perform(post("/eventos/1/lista-espera")
+                        .header("X-User-Id", clienteId.toString())
+                        .header("X-User-Roles", "CLIENTE"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.posicao").value(4));
+    }
+
     @Test
     void deveBuscarMinhasInscricoesComSucesso() throws Exception {
         Page<EventoRespostaDto> paginaDeEventos = new PageImpl<>(List.of(new EventoRespostaDto()));
@@ -215,8 +332,152 @@ class EventoControllerTest {
                         .header("X-User-Id", clienteId.toString())
                         .header("X-User-Roles", "CLIENTE")
                         .param("page", "0")
-                        .param("size", "10")
-                        .with(user("testuser")))
+                        .param("size", "10"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveBuscarInscricoesArquivadasPeloCaminhoFrio() throws Exception {
+        when(eventoService.buscarInscricoesArquivadasDoParticipante(eq(clienteId), any()))
+                .thenReturn(new PageImpl<>(List.of(new EventoRespostaDto())));
+
+        mockMvc.perform(get("/eventos/minhas-inscricoes")
+                        .header("X-User-Id", clienteId.toString())
+                        .header("X-User-Roles", "CLIENTE")
+                        .param("arquivadas", "true"))
+                .andExpect(status().isOk());
+
+        verify(eventoService, never()).buscarInscricoesDoParticipante(any(), any());
+    }
+
+    @Test
+    void deveAceitarCancelamentoDoEvento() throws Exception {
+        CancelamentoDto cancelamento = new CancelamentoDto();
+        cancelamento.setEventoId(1L);
+        cancelamento.setStatus(StatusCancelamento.EM_ANDAMENTO);
+        cancelamento.setTotalParticipantes(3);
+        cancelamento.setProcessados(0);
+        when(cancelamentoEventoService.cancelarEvento(1L, organizerId)).thenReturn(cancelamento);
+
+        mockMvc.perform(post("/eventos/1/cancelar")
+                        .header("X-User-Id", organizerId.toString())
+                        .header("X-User-Roles", "ORGANIZADOR"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("EM_ANDAMENTO"))
+                .andExpect(jsonPath("$.totalParticipantes").value(3));
+    }
+
+    @Test
+    void deveNegarCancelamentoParaCliente() throws Exception {
+        mockMvc.perform(post("/eventos/1/cancelar")
+                        .header("X-User-Id", clienteId.toString())
+                        .header("X-User-Roles", "CLIENTE"))
+                .andExpect(status().isForbidden())
+                .andExpect(content().string("Apenas ORGANIZADOR pode cancelar evento."));
+
+        verify(cancelamentoEventoService, never()).cancelarEvento(any(), any());
+    }
+
+    @Test
+    void deveRetornarResumoDoOrganizador() throws Exception {
+        when(resumoOrganizadorService.buscarResumo(organizerId))
+                .thenReturn(new ResumoOrganizadorDto(4, 30, 0.75, 1, LocalDateTime.now()));
+
+        mockMvc.perform(get("/eventos/meus-eventos/resumo")
+                        .header("X-User-Id", organizerId.toString())
+                        .header("X-User-Roles", "ORGANIZADOR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEventos").value(4))
+                .andExpect(jsonPath("$.ocupacaoMedia").value(0.75))
+                .andExpect(jsonPath("$.proximosEsgotados").value(1));
+
+        verify(eventoService, never()).buscarEventosDoOrganizador(any(), any());
+    }
+
+    @Test
+    void deveListarEmAltaNaOrdemDoRanking() throws Exception {
+        EventoRespostaDto segundo = new EventoRespostaDto();
+        segundo.setId(2L);
+        EventoRespostaDto primeiro = new EventoRespostaDto();
+        primeiro.setId(7L);
+        when(rankingEmAlta.tamanhoTop()).thenReturn(50);
+        when(rankingEmAlta.topIds(RankingEmAlta.Janela.DIA, 5)).thenReturn(List.of(7L, 2L));
+        when(eventoService.buscarEmLote(List.of(7L, 2L)))
+                .thenReturn(new EventoLoteRespostaDto(List.of(primeiro, segundo), List.of()));
+
+        mockMvc.perform(get("/eventos/em-alta").param("janela", "DIA").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    void deveResponderEmProtobufQuandoPedido() throws Exception {
+        CategoriaDto categoria = new CategoriaDto();
+        categoria.setId(3L);
+        categoria.setNome("Música");
+        EventoRespostaDto evento = new EventoRespostaDto(1L, "Show", "Descrição", "Florianópolis",
+                LocalDateTime.of(2026, 3, 1, 19, 30), 500, 120, StatusEvento.CANCELADO,
+                organizerId, "Organizador", categoria);
+        when(eventoService.buscarPorId(1L)).thenReturn(evento);
+
+        byte[] corpo = mockMvc.perform(get("/eventos/1").accept(EventosProtobufHttpMessageConverter.V1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EventosProtobufHttpMessageConverter.V1))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // decodifica com o schema publicado, como um consumidor faria
+        ProtobufMapper protobuf = new ProtobufMapper();
+        ProtobufSchema schema;
+        try (var proto = new ClassPathResource("proto/eventos-v1.proto").getInputStream()) {
+            schema = ProtobufSchemaLoader.std.loadNative(proto, false).forType("Evento");
+        }
+        JsonNode lido = protobuf.readerFor(JsonNode.class).with(schema).readValue(corpo);
+
+        assertEquals(1L, lido.get("id").asLong());
+        assertEquals("Show", lido.get("nome").asText());
+        assertTrue(lido.get("data").asText().startsWith("2026-03-01T19:30"));
+        assertEquals(120, lido.get("vagas").asInt());
+        // lido como árvore, o enum chega com o número do schema (CANCELADO = 3)
+        assertEquals(3, lido.get("status").asInt());
+        assertEquals("Música", lido.get("categoria").get("nome").asText());
+        ByteBuffer uuid = ByteBuffer.wrap(lido.get("organizerId").binaryValue());
+        assertEquals(16, uuid.remaining());
+        assertEquals(organizerId, new UUID(uuid.getLong(), uuid.getLong()));
+        // campo 8 (status) com wire type varint: é enum, não string
+        assertTrue(contem(corpo, new byte[]{0x40, 0x03}));
+
+        mockMvc.perform(get("/eventos/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void deveResponderPaginaEmProtobuf() throws Exception {
+        EventoRespostaDto evento = new EventoRespostaDto();
+        evento.setId(5L);
+        when(eventoService.listarEventosDisponiveis(any(), any()))
+                .thenReturn(new PageImpl<>(List.of(evento), PageRequest.of(0, 10), 31));
+
+        byte[] corpo = mockMvc.perform(get("/eventos").accept(EventosProtobufHttpMessageConverter.V1))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ProtobufSchema schema;
+        try (var proto = new ClassPathResource("proto/eventos-v1.proto").getInputStream()) {
+            schema = ProtobufSchemaLoader.std.loadNative(proto, false).forType("PaginaEventos");
+        }
+        JsonNode lido = new ProtobufMapper().readerFor(JsonNode.class).with(schema).readValue(corpo);
+
+        assertEquals(5L, lido.get("content").get(0).get("id").asLong());
+        assertEquals(31L, lido.get("totalElements").asLong());
+        assertEquals(4, lido.get("totalPages").asInt());
+    }
+
+    private static boolean contem(byte[] corpo, byte[] trecho) {
+        for (int i = 0; i + trecho.length <= corpo.length; i++) {
+            if (Arrays.equals(corpo, i, i + trecho.length, trecho, 0, trecho.length)) return true;
+        }
+        return false;
+    }
+}
@@ -1,24 +1,34 @@
 package service.eventos;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import service.eventos.client.IngressosClient;
 import service.eventos.client.UserClient;
 import service.eventos.commons.PaymentMethod;
 import service.eventos.dto.EventoRequisicaoDto;
+import service.eventos.dto.EventoRespostaDto;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.events.ResumoOrganizadorDeltaEvent;
 import service.eventos.exception.RecursoNaoEncontradoException;
+import service.eventos.exception.RequisicaoInvalidaException;
 import service.eventos.model.Categoria;
 import service.eventos.model.Evento;
 import service.eventos.model.StatusEvento;
 import service.eventos.repository.CategoriaRepository;
+import service.eventos.repository.EventoArquivadoRepository;
 import service.eventos.repository.EventoRepository;
+import service.eventos.repository.EventoResumo;
+import service.eventos.repository.ListaEsperaRepository;
+import service.eventos.repository.ParticipanteInscrito;
 import service.eventos.service.EventoService;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -26,6 +36,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,18 +45,32 @@ class EventoServiceTest {
     @Mock
     private EventoRepository eventoRepository;
 
+    @Mock
+    private EventoArquivadoRepository eventoArquivadoRepository;
+
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ListaEsperaRepository listaEsperaRepository;
+
     @Mock
     private IngressosClient ingressosClient;
 
     @Mock
     private UserClient userClient;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private EventoService eventoService;
 
+    @BeforeEach
+    void setUp() {
+        eventoService = new EventoService(eventoRepository, eventoArquivadoRepository, categoriaRepository,
+                listaEsperaRepository, ingressosClient, userClient, eventPublisher, 100, 200);
+    }
+
     @Test
     void deveCriarEventoComSucesso() {
         UUID organizerId = UUID.randomUUID();
@@ -94,16 +119,32 @@ class EventoServiceTest {
         UUID organizerId = UUID.randomUUID();
         Evento eventoMock = criarEventoMock(eventoId, organizerId, 2);
 
-        when(eventoRepository.findById(eventoId)).thenReturn(Optional.of(eventoMock));
+        when(eventoRepository.buscarComTrava(eventoId)).thenReturn(Optional.of(eventoMock));
         when(ingressosClient.createTicket(eventoId, participanteId, PaymentMethod.PIX)).thenReturn(null);
 
         eventoService.inscreverEmEvento(eventoId, participanteId);
 
         verify(eventoRepository).save(eventoMock);
         verify(ingressosClient).createTicket(eventoId, participanteId, PaymentMethod.PIX);
+        verify(eventPublisher).publishEvent(new EventoAlteradoEvent(eventoId, EventoAlteradoEvent.Tipo.INSCRICAO, 1, StatusEvento.ATIVO));
         assertThat(eventoMock.getParticipanteId()).contains(participanteId);
     }
 
+    @Test
+    void deveAtualizarResumoDoOrganizadorAoPreencherUltimaVaga() {
+        Long eventoId = 1L;
+        UUID participanteId = UUID.randomUUID();
+        UUID organizerId = UUID.randomUUID();
+        Evento eventoMock = criarEventoMock(eventoId, organizerId, 1);
+
+        when(eventoRepository.buscarComTrava(eventoId)).thenReturn(Optional.of(eventoMock));
+
+        eventoService.inscreverEmEvento(eventoId, participanteId);
+
+        // mesma quantidade de eventos e capacidade; uma inscrição e um esgotado a mais
+        verify(eventPublisher).publishEvent(new ResumoOrganizadorDeltaEvent(organizerId, 0, 1, 0, 1));
+    }
+
     @Test
     void naoDeveInscreverEmEventoLotado() {
         Long eventoId = 1L;
@@ -114,14 +155,28 @@ class EventoServiceTest {
         Evento eventoMock = criarEventoMock(eventoId, organizerId, 1);
         eventoMock.setParticipanteId(Set.of(participanteExistente));
 
-        when(eventoRepository.findById(eventoId)).thenReturn(Optional.of(eventoMock));
+        when(eventoRepository.buscarComTrava(eventoId)).thenReturn(Optional.of(eventoMock));
 
         var exception = assertThrows(IllegalStateException.class, () -> {
             eventoService.inscreverEmEvento(eventoId, novoParticipante);
         });
         assertThat(exception.getMessage()).isEqualTo("Evento com capacidade máxima atingida.");
         verify(eventoRepository, never()).save(any());
-        verify(ingressosClient, never()).createTicket(anyLong(), any(),PaymentMethod.PIX);
+        verify(ingressosClient, never()).createTicket(anyLong(), any(), eq(PaymentMethod.PIX));
+    }
+
+    @Test
+    void naoDeveInscreverDiretoQuandoHaListaDeEspera() {
+        Long eventoId = 1L;
+        Evento eventoMock = criarEventoMock(eventoId, UUID.randomUUID(), 2);
+
+        when(eventoRepository.buscarComTrava(eventoId)).thenReturn(Optional.of(eventoMock));
+        when(listaEsperaRepository.existsByEventoId(eventoId)).thenReturn(true);
+
+        var exception = assertThrows(IllegalStateException.class, () ->
+                eventoService.inscreverEmEvento(eventoId, UUID.randomUUID()));
+        assertThat(exception.getMessage()).isEqualTo("Este evento tem lista de espera; entre na lista de espera.");
+        verify(eventoRepository, never()).save(any());
     }
 
     @Test
@@ -149,7 +204,7 @@ class EventoServiceTest {
         assertThrows(SecurityException.class, () -> {
             eventoService.deletarEvento(eventoId, invasorId);
         });
-        verify(eventoRepository, never()).delete(any());
+        verify(eventoRepository, never()).delete(any(Evento.class));
     }
 
     @Test
@@ -166,7 +221,34 @@ class EventoServiceTest {
             eventoService.deletarEvento(eventoId, organizerId);
         });
         assertThat(exception.getMessage()).isEqualTo("Não é possível excluir um evento com participantes inscritos.");
-        verify(eventoRepository, never()).delete(any());
+        verify(eventoRepository, never()).delete(any(Evento.class));
+    }
+
+    @Test
+    void deveBuscarEventosEmLoteReportandoIdsNaoEncontrados() {
+        UUID organizerId = UUID.randomUUID();
+        Evento evento1 = criarEventoMock(1L, organizerId, 10);
+        Evento evento3 = criarEventoMock(3L, organizerId, 10);
+
+        when(eventoRepository.findByIdIn(any())).thenReturn(List.of(evento3, evento1));
+        UserClient.UserRespostaDto mockUser = new UserClient.UserRespostaDto();
+        mockUser.setNome("Organizador Teste");
+        when(userClient.getUserById(organizerId)).thenReturn(mockUser);
+
+        var resposta = eventoService.buscarEmLote(List.of(1L, 2L, 3L, 1L));
+
+        assertThat(resposta.getEventos()).extracting(EventoRespostaDto::getId).containsExactly(1L, 3L);
+        assertThat(resposta.getEventos()).extracting(EventoRespostaDto::getOrganizerNome)
+                .containsOnly("Organizador Teste");
+        assertThat(resposta.getNaoEncontrados()).containsExactly(2L);
+        verify(eventoRepository, times(1)).findByIdIn(any());
+        verify(userClient, times(1)).getUserById(organizerId);
+    }
+
+    @Test
+    void naoDeveBuscarLoteVazio() {
+        assertThrows(RequisicaoInvalidaException.class, () -> eventoService.buscarEmLote(List.of()));
+        verify(eventoRepository, never()).findByIdIn(any());
     }
 
     private EventoRequisicaoDto criarEventoRequisicaoMock() {
@@ -180,6 +262,57 @@ class EventoServiceTest {
         return dto;
     }
 
+    @Test
+    void deveListarParticipantesPorCursor() {
+        Long eventoId = 1L;
+        UUID organizerId = UUID.randomUUID();
+        EventoResumo resumo = mock(EventoResumo.class);
+        when(resumo.getOrganizerId()).thenReturn(organizerId);
+        when(eventoRepository.findResumoById(eventoId)).thenReturn(Optional.of(resumo));
+
+        LocalDateTime inscricao = LocalDateTime.of(2026, 3, 1, 10, 0, 0, 123_456_000);
+        UUID primeiro = UUID.randomUUID();
+        UUID segundo = UUID.randomUUID();
+        when(eventoRepository.buscarPrimeirosParticipantes(eventoId, 2))
+                .thenReturn(List.of(inscrito(primeiro, inscricao), inscrito(segundo, inscricao)));
+
+        var pagina = eventoService.listarParticipantes(eventoId, organizerId, null, 2);
+
+        assertThat(pagina.getParticipantes()).extracting("participanteId").containsExactly(primeiro, segundo);
+        assertThat(pagina.getProximoCursor()).isNotNull();
+
+        when(eventoRepository.buscarParticipantesAposCursor(eventoId, inscricao, segundo, 2)).thenReturn(List.of());
+
+        var seguinte = eventoService.listarParticipantes(eventoId, organizerId, pagina.getProximoCursor(), 2);
+
+        assertThat(seguinte.getParticipantes()).isEmpty();
+        assertThat(seguinte.getProximoCursor()).isNull();
+    }
+
+    @Test
+    void naoDeveListarParticipantesDeEventoDeOutroOrganizador() {
+        EventoResumo resumo = mock(EventoResumo.class);
+        when(resumo.getOrganizerId()).thenReturn(UUID.randomUUID());
+        when(eventoRepository.findResumoById(1L)).thenReturn(Optional.of(resumo));
+
+        assertThrows(SecurityException.class, () -> eventoService.listarParticipantes(1L, UUID.randomUUID(), null, 10));
+        verify(eventoRepository, never()).buscarPrimeirosParticipantes(any(), anyInt());
+    }
+
+    private ParticipanteInscrito inscrito(UUID participanteId, LocalDateTime inscritoEm) {
+        return new ParticipanteInscrito() {
+            @Override
+            public UUID getParticipanteId() {
+                return participanteId;
+            }
+
+            @Override
+            public LocalDateTime getInscritoEm() {
+                return inscritoEm;
+            }
+        };
+    }
+
     private Evento criarEventoMock(Long eventoId, UUID organizerId, int capacidade) {
         Evento evento = new Evento();
         evento.setId(eventoId);
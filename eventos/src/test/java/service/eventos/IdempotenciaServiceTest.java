@@ -0,0 +1,125 @@
+package service.eventos;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import service.eventos.exception.ChaveIdempotenciaConflitanteException;
+import service.eventos.exception.IdempotenciaIndisponivelException;
+import service.eventos.service.IdempotenciaService;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotenciaServiceTest {
+
+    private final IdempotenciaService service =
+            new IdempotenciaService(Duration.ofMinutes(10), 100, Duration.ofSeconds(5));
+
+    @Test
+    void deveRejeitarCorpoDiferenteMesmoComHashIgual() {
+        // "Aa" e "BB" têm o mesmo hashCode
+        service.executar("u1:criar", "k1", "Aa", () -> ResponseEntity.ok("a"));
+
+        assertThrows(ChaveIdempotenciaConflitanteException.class,
+                () -> service.executar("u1:criar", "k1", "BB", () -> ResponseEntity.ok("b")));
+    }
+
+    @Test
+    void deveRecusarSemExecutarQuandoArmazenamentoCheio() {
+        IdempotenciaService pequeno = new IdempotenciaService(Duration.ofMinutes(10), 2, Duration.ofSeconds(5));
+        pequeno.executar("u1:criar", "k1", "a", () -> ResponseEntity.ok("a"));
+        pequeno.executar("u1:criar", "k2", "b", () -> ResponseEntity.ok("b"));
+        AtomicInteger execucoes = new AtomicInteger();
+
+        IdempotenciaIndisponivelException erro = assertThrows(IdempotenciaIndisponivelException.class, () ->
+                pequeno.executar("u1:criar", "k3", "c", () -> ResponseEntity.ok("c-" + execucoes.incrementAndGet())));
+
+        assertThat(execucoes.get()).isZero();
+        assertThat(erro.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(erro.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+        // chaves já registradas continuam sendo repetidas normalmente
+        assertThat(pequeno.executar("u1:criar", "k1", "a", () -> ResponseEntity.ok("x")).getBody()).isEqualTo("a");
+    }
+
+    @Test
+    void deveDevolverRespostaGuardadaSemReexecutar() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        ResponseEntity<String> primeira = service.executar("u1:criar", "k1", "body",
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("evento-" + execucoes.incrementAndGet()));
+        ResponseEntity<String> segunda = service.executar("u1:criar", "k1", "body",
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("evento-" + execucoes.incrementAndGet()));
+
+        assertThat(execucoes.get()).isEqualTo(1);
+        assertThat(segunda.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(segunda.getBody()).isEqualTo(primeira.getBody());
+        assertThat(segunda.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+    }
+
+    @Test
+    void deveRejeitarMesmaChaveComConteudoDiferente() {
+        service.executar("u1:criar", "k1", "body-a", () -> ResponseEntity.ok("a"));
+
+        assertThrows(ChaveIdempotenciaConflitanteException.class, () ->
+                service.executar("u1:criar", "k1", "body-b", () -> ResponseEntity.ok("b")));
+    }
+
+    @Test
+    void naoDeveGuardarFalhas() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> service.executar("u1:inscrever:1", "k1", null, () -> {
+            execucoes.incrementAndGet();
+            throw new IllegalStateException("falhou");
+        }));
+        service.executar("u1:inscrever:1", "k1", null, () -> {
+            execucoes.incrementAndGet();
+            return ResponseEntity.ok().build();
+        });
+
+        assertThat(execucoes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void duplicatasConcorrentesDevemEsperarAPrimeiraExecucao() throws Exception {
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResponseEntity<Integer>> primeira = executor.submit(() ->
+                    service.executar("u1:inscrever:1", "k1", null, () -> {
+                        int n = execucoes.incrementAndGet();
+                        aguardar(liberar);
+                        return ResponseEntity.ok(n);
+                    }));
+            while (execucoes.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<ResponseEntity<Integer>> segunda = executor.submit(() ->
+                    service.executar("u1:inscrever:1", "k1", null, () -> ResponseEntity.ok(execucoes.incrementAndGet())));
+
+            liberar.countDown();
+            assertThat(primeira.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(1);
+            assertThat(segunda.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(1);
+            assertThat(execucoes.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
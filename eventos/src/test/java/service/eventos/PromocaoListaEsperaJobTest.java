@@ -0,0 +1,102 @@
+package service.eventos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.model.ListaEspera;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.EmissaoIngressoRepository;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.ListaEsperaRepository;
+import service.eventos.service.PromocaoListaEsperaJob;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PromocaoListaEsperaJobTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Mock
+    private EmissaoIngressoRepository emissaoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PromocaoListaEsperaJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new PromocaoListaEsperaJob(eventoRepository, listaEsperaRepository, emissaoRepository,
+                transactionTemplate, eventPublisher, 100, 10);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void devePromoverSomenteAsVagasLivresEPularQuemJaSeInscreveu() {
+        UUID jaInscrito = UUID.randomUUID();
+        UUID aguardando = UUID.randomUUID();
+        when(listaEsperaRepository.buscarEventosParaPromover(10)).thenReturn(List.of(1L));
+        when(eventoRepository.travarEventoAtivo(1L)).thenReturn(Optional.of(10));
+        when(eventoRepository.contarParticipantes(1L)).thenReturn(8);
+        when(listaEsperaRepository.buscarFrente(1L, 2)).thenReturn(List.of(
+                new ListaEspera(11L, 1L, jaInscrito, null),
+                new ListaEspera(12L, 1L, aguardando, null)));
+        when(eventoRepository.estaInscrito(1L, jaInscrito)).thenReturn(true);
+        when(eventoRepository.estaInscrito(1L, aguardando)).thenReturn(false);
+
+        job.promoverPendentes();
+
+        verify(listaEsperaRepository).inscrever(List.of(12L));
+        // ingresso só do promovido, gravado para emissão depois do commit
+        verify(emissaoRepository).registrar(List.of(12L));
+        verify(listaEsperaRepository).remover(List.of(11L, 12L));
+        verify(eventPublisher).publishEvent(
+                new EventoAlteradoEvent(1L, EventoAlteradoEvent.Tipo.INSCRICAO, 1, StatusEvento.ATIVO));
+    }
+
+    @Test
+    void falhaEmUmEventoNaoImpedeOsDemais() {
+        when(listaEsperaRepository.buscarEventosParaPromover(10)).thenReturn(List.of(1L, 2L));
+        when(eventoRepository.travarEventoAtivo(1L)).thenThrow(new IllegalStateException("erro de banco"));
+        when(eventoRepository.travarEventoAtivo(2L)).thenReturn(Optional.of(5));
+        when(eventoRepository.contarParticipantes(2L)).thenReturn(5);
+
+        job.promoverPendentes();
+
+        verify(eventoRepository).contarParticipantes(2L);
+    }
+
+    @Test
+    void naoDevePromoverEventoLotadoOuTravadoPorOutraReplica() {
+        when(listaEsperaRepository.buscarEventosParaPromover(10)).thenReturn(List.of(1L, 2L));
+        when(eventoRepository.travarEventoAtivo(1L)).thenReturn(Optional.empty());
+        when(eventoRepository.travarEventoAtivo(2L)).thenReturn(Optional.of(5));
+        when(eventoRepository.contarParticipantes(2L)).thenReturn(5);
+
+        job.promoverPendentes();
+
+        verify(listaEsperaRepository, never()).buscarFrente(any(), anyInt());
+        verify(emissaoRepository, never()).registrar(any());
+    }
+}
@@ -0,0 +1,91 @@
+package service.eventos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import service.eventos.dto.CategoriaDto;
+import service.eventos.dto.EventoRespostaDto;
+import service.eventos.model.StatusEvento;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara tamanho e CPU de serialização de uma página de 100 eventos em JSON
+ * (Jackson, como hoje) e em protobuf v1. Os números vão para o relatório do
+ * teste (TestReporter); só o tamanho é verificado, para não depender da máquina.
+ * Fora do mvn test padrão: rodar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class EventosProtobufBenchmarkTest {
+
+    private static final int ITERACOES = 2_000;
+
+    @Test
+    void protobufEhMenorQueJson(TestReporter relatorio) throws Exception {
+        Page<EventoRespostaDto> pagina = paginaDeEventos(100);
+        Type tipo = ResolvableType.forClassWithGenerics(Page.class, EventoRespostaDto.class).getType();
+
+        ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        EventosProtobufHttpMessageConverter protobuf = new EventosProtobufHttpMessageConverter();
+
+        int tamanhoJson = json.writeValueAsBytes(pagina).length;
+        int tamanhoProtobuf = escreverProtobuf(protobuf, pagina, tipo).length;
+
+        // aquecimento antes de medir
+        for (int i = 0; i < ITERACOES; i++) {
+            json.writeValueAsBytes(pagina);
+            escreverProtobuf(protobuf, pagina, tipo);
+        }
+        ThreadMXBean cpu = ManagementFactory.getThreadMXBean();
+        long inicio = cpu.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERACOES; i++) json.writeValueAsBytes(pagina);
+        long cpuJson = cpu.getCurrentThreadCpuTime() - inicio;
+        inicio = cpu.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERACOES; i++) escreverProtobuf(protobuf, pagina, tipo);
+        long cpuProtobuf = cpu.getCurrentThreadCpuTime() - inicio;
+
+        relatorio.publishEntry(Map.of(
+                "json.bytes", String.valueOf(tamanhoJson),
+                "json.us-por-pagina", String.format("%.1f", cpuJson / 1_000.0 / ITERACOES),
+                "protobuf.bytes", String.valueOf(tamanhoProtobuf),
+                "protobuf.us-por-pagina", String.format("%.1f", cpuProtobuf / 1_000.0 / ITERACOES)));
+        assertTrue(tamanhoProtobuf < tamanhoJson / 2, "protobuf deveria ter menos da metade do JSON");
+    }
+
+    private static byte[] escreverProtobuf(EventosProtobufHttpMessageConverter conversor, Object corpo, Type tipo) throws Exception {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+        conversor.write(corpo, tipo, EventosProtobufHttpMessageConverter.V1, saida);
+        return saida.getBodyAsBytes();
+    }
+
+    private static Page<EventoRespostaDto> paginaDeEventos(int quantidade) {
+        List<EventoRespostaDto> eventos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            CategoriaDto categoria = new CategoriaDto();
+            categoria.setId((long) (i % 5));
+            categoria.setNome("Categoria " + (i % 5));
+            eventos.add(new EventoRespostaDto((long) i, "Evento " + i, "Descrição do evento " + i,
+                    "Florianópolis - SC", LocalDateTime.of(2026, 3, 1, 19, 30).plusDays(i), 500, 120,
+                    StatusEvento.ATIVO, UUID.randomUUID(), "Organizador " + (i % 10), categoria));
+        }
+        return new PageImpl<>(eventos, PageRequest.of(0, quantidade), 10_000);
+    }
+}
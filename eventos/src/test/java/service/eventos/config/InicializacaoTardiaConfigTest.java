@@ -0,0 +1,34 @@
+package service.eventos.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InicializacaoTardiaConfigTest {
+
+    @Test
+    void marcaComoTardiosSoOsBeansDoSpringdoc() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("springDocConfiguration", definicao("org.springdoc.core.configuration.SpringDocConfiguration"));
+        GenericBeanDefinition deMetodoBean = new GenericBeanDefinition();
+        deMetodoBean.setFactoryBeanName("springDocConfiguration");
+        deMetodoBean.setFactoryMethodName("openApiResource");
+        beanFactory.registerBeanDefinition("openApiResource", deMetodoBean);
+        beanFactory.registerBeanDefinition("eventoService", definicao("service.eventos.service.EventoService"));
+
+        InicializacaoTardiaConfig.marcarTardios(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("springDocConfiguration").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("openApiResource").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("eventoService").isLazyInit());
+    }
+
+    private static GenericBeanDefinition definicao(String classe) {
+        GenericBeanDefinition definicao = new GenericBeanDefinition();
+        definicao.setBeanClassName(classe);
+        return definicao;
+    }
+}
@@ -0,0 +1,54 @@
+package service.eventos.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MonitorReplicaTest {
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    private final AtomicLong agora = new AtomicLong();
+    private MonitorReplica monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new MonitorReplica(jdbc, Duration.ofSeconds(5), Duration.ofSeconds(5), agora::get);
+    }
+
+    @Test
+    void deveDeixarDeRotearQuandoAVerificacaoFicaVelha() {
+        when(jdbc.queryForObject(anyString(), eq(Double.class))).thenReturn(1.0);
+        monitor.verificar();
+        assertTrue(monitor.disponivel());
+
+        // agendador atrasado: nenhuma verificação nova em 2x o intervalo
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertFalse(monitor.disponivel());
+
+        monitor.verificar();
+        assertTrue(monitor.disponivel());
+    }
+
+    @Test
+    void deveDesabilitarComAtrasoAcimaDoMaximo() {
+        when(jdbc.queryForObject(anyString(), eq(Double.class))).thenReturn(8.0);
+        monitor.verificar();
+        assertFalse(monitor.disponivel());
+    }
+}
@@ -0,0 +1,94 @@
+package service.eventos.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primario;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private MonitorReplica monitor;
+
+    @Mock
+    private Connection conexaoPrimario;
+
+    @Mock
+    private Connection conexaoReplica;
+
+    private ReplicaRoutingDataSource roteamento;
+
+    @BeforeEach
+    void setUp() {
+        roteamento = new ReplicaRoutingDataSource(monitor);
+        roteamento.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARIO, primario,
+                ReplicaRoutingDataSource.REPLICA, replica));
+        roteamento.setDefaultTargetDataSource(primario);
+        roteamento.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void leituraDeveIrParaReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(monitor.disponivel()).thenReturn(true);
+        when(replica.getConnection()).thenReturn(conexaoReplica);
+
+        assertThat(roteamento.getConnection()).isSameAs(conexaoReplica);
+        verify(primario, never()).getConnection();
+    }
+
+    @Test
+    void escritaDeveIrParaPrimario() throws SQLException {
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+
+        assertThat(roteamento.getConnection()).isSameAs(conexaoPrimario);
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void leituraDeveIrParaPrimarioComReplicaIndisponivel() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(monitor.disponivel()).thenReturn(false);
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+
+        assertThat(roteamento.getConnection()).isSameAs(conexaoPrimario);
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void leituraDeveCairParaPrimarioSeReplicaFalhar() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        // disponível na escolha da conexão; indisponível depois da falha
+        when(monitor.disponivel()).thenReturn(true, true, false);
+        when(replica.getConnection()).thenThrow(new SQLException("conexão recusada"));
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+
+        assertThat(roteamento.getConnection()).isSameAs(conexaoPrimario);
+        verify(monitor).marcarIndisponivel(any());
+    }
+}
@@ -0,0 +1,44 @@
+package service.eventos.diagnostico;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GravacaoJfrEndpointTest {
+
+    @Test
+    void downloadNaoDeixaArquivoNoTemporario() throws Exception {
+        GravacaoJfrEndpoint endpoint = new GravacaoJfrEndpoint();
+        endpoint.iniciar(60);
+        try {
+            int antes = arquivosJfrTemporarios();
+            WebEndpointResponse<Resource> resposta = endpoint.arquivo("arquivo");
+            assertEquals(WebEndpointResponse.STATUS_OK, resposta.getStatus());
+
+            try (InputStream conteudo = resposta.getBody().getInputStream()) {
+                assertTrue(conteudo.readAllBytes().length > 0);
+            }
+            assertEquals(antes, arquivosJfrTemporarios());
+        } finally {
+            endpoint.parar();
+        }
+    }
+
+    private static int arquivosJfrTemporarios() throws IOException {
+        int total = 0;
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(
+                Path.of(System.getProperty("java.io.tmpdir")), "eventos-*.jfr")) {
+            for (Path ignorado : arquivos) total++;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,48 @@
+package service.eventos.diagnostico;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InscricaoFaseEventTest {
+
+    @Test
+    void gravaFaseComEventoEResultado() throws Exception {
+        Path arquivo = Files.createTempFile("inscricao-", ".jfr");
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(InscricaoFaseEvent.class);
+            gravacao.start();
+
+            assertEquals("ok", InscricaoFaseEvent.medir(7L, "CARREGAR", () -> "ok"));
+            assertThrows(IllegalStateException.class, () -> InscricaoFaseEvent.medir(7L, "GRAVAR", () -> {
+                throw new IllegalStateException("lotado");
+            }));
+
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+                .filter(e -> e.getEventType().getName().equals("service.eventos.InscricaoFase"))
+                .toList();
+        Files.deleteIfExists(arquivo);
+
+        assertEquals(2, eventos.size());
+        assertEquals(7L, eventos.get(0).getLong("eventoId"));
+        assertEquals("CARREGAR", eventos.get(0).getString("fase"));
+        assertEquals("OK", eventos.get(0).getString("resultado"));
+        assertEquals("IllegalStateException", eventos.get(1).getString("resultado"));
+    }
+
+    @Test
+    void semGravacaoApenasExecuta() {
+        assertEquals(42, InscricaoFaseEvent.medir(1L, "CARREGAR", () -> 42));
+    }
+}
@@ -0,0 +1,80 @@
+package service.eventos.diagnostico;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class MonitorSqlTest {
+
+    @Test
+    void normalizaLiteraisEListasDeIn() {
+        String sql = "select e1_0.id from eventos e1_0 where e1_0.status='ATIVO'\n  and e1_0.id in (?, ?, ?) limit 20";
+
+        assertEquals("select e1_0.id from eventos e1_0 where e1_0.status=? and e1_0.id in (?, ...) limit ?",
+                MonitorSql.normalizar(sql));
+    }
+
+    @Test
+    void ordenaFormatosPeloP99() {
+        MonitorSql monitor = new MonitorSql(Duration.ofSeconds(10), 100);
+        for (int i = 0; i < 100; i++) {
+            monitor.registrar("select 1 from a where id = " + i, 1_000_000, 1, 1);
+        }
+        monitor.registrar("select 1 from b where id = 1", 50_000_000, 1, 1);
+
+        List<Map<String, Object>> lentos = monitor.maisLentos(1);
+
+        assertEquals(1, lentos.size());
+        assertEquals("select ? from b where id = ?", lentos.get(0).get("sql"));
+        assertEquals(1L, lentos.get(0).get("execucoes"));
+    }
+
+    @Test
+    void limitaQuantidadeDeFormatos() {
+        MonitorSql monitor = new MonitorSql(Duration.ofSeconds(10), 1);
+        monitor.registrar("select * from a", 1_000, 0, 0);
+        monitor.registrar("select * from b", 1_000, 0, 0);
+
+        assertEquals(MonitorSql.OUTROS, monitor.maisLentos(10).stream()
+                .map(linha -> linha.get("sql"))
+                .filter(MonitorSql.OUTROS::equals)
+                .findFirst().orElse(null));
+    }
+
+    @Test
+    void dataSourceMedeConsultaEContaLinhasNoFechamento() throws Exception {
+        MonitorSql monitor = spy(new MonitorSql(Duration.ofSeconds(10), 100));
+        DataSource alvo = mock(DataSource.class);
+        Connection conexao = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        String sql = "select id from eventos where status = ? and categoria_id = ?";
+        when(alvo.getConnection()).thenReturn(conexao);
+        when(conexao.prepareStatement(sql)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        DataSourceMonitorado dataSource = new DataSourceMonitorado(alvo, monitor);
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, "ATIVO");
+            ps.setLong(2, 3L);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // consome
+                }
+            }
+        }
+
+        verify(monitor).registrar(eq(sql), anyLong(), eq(2), eq(2L));
+    }
+}
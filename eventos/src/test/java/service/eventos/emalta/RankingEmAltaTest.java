@@ -0,0 +1,81 @@
+package service.eventos.emalta;
+
+import org.junit.jupiter.api.Test;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.model.StatusEvento;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RankingEmAltaTest {
+
+    private static final long MINUTO = 60_000L;
+    private static final long HORA = 60 * MINUTO;
+
+    @Test
+    void janelaDescartaBaldesAntigos() {
+        JanelaDeslizante janela = new JanelaDeslizante(60, MINUTO);
+        long inicio = 1_000 * HORA;
+        janela.registrar(inicio);
+        janela.registrar(inicio + 30 * MINUTO);
+        janela.registrar(inicio + 30 * MINUTO);
+
+        assertEquals(3, janela.total(inicio + 59 * MINUTO));
+        assertEquals(2, janela.total(inicio + 60 * MINUTO));
+        assertEquals(0, janela.total(inicio + 2 * HORA));
+    }
+
+    @Test
+    void baldeReaproveitadoNaVoltaDoAnelRecomecaDoZero() {
+        JanelaDeslizante janela = new JanelaDeslizante(60, MINUTO);
+        long inicio = 1_000 * HORA;
+        janela.registrar(inicio);
+        janela.registrar(inicio);
+        // mesmo índice do anel, uma hora depois
+        janela.registrar(inicio + HORA);
+
+        assertEquals(1, janela.total(inicio + HORA));
+    }
+
+    @Test
+    void topOrdenaPorInscricoesNaJanela() {
+        RankingEmAlta ranking = new RankingEmAlta(100, 2);
+        long agora = 1_000 * HORA;
+        // evento 1: muitas inscrições há 3 horas; evento 2 e 3: recentes
+        for (int i = 0; i < 5; i++) ranking.registrar(1L, agora - 3 * HORA);
+        for (int i = 0; i < 3; i++) ranking.registrar(2L, agora);
+        ranking.registrar(3L, agora);
+
+        ranking.atualizarTop(agora);
+
+        assertEquals(List.of(2L, 3L), ranking.topIds(RankingEmAlta.Janela.HORA, 10));
+        assertEquals(List.of(1L, 2L), ranking.topIds(RankingEmAlta.Janela.DIA, 10));
+        assertEquals(List.of(1L), ranking.topIds(RankingEmAlta.Janela.DIA, 1));
+    }
+
+    @Test
+    void eventoCanceladoSaiDoRanking() {
+        RankingEmAlta ranking = new RankingEmAlta(100, 10);
+        long agora = System.currentTimeMillis();
+        ranking.registrar(1L, agora);
+        ranking.registrar(2L, agora);
+
+        ranking.onEventoAlterado(new EventoAlteradoEvent(1L, EventoAlteradoEvent.Tipo.STATUS, 0, StatusEvento.CANCELADO));
+        ranking.atualizarTop(agora);
+
+        assertEquals(List.of(2L), ranking.topIds(RankingEmAlta.Janela.HORA, 10));
+    }
+
+    @Test
+    void respeitaLimiteDeEventosEmMemoria() {
+        RankingEmAlta ranking = new RankingEmAlta(1, 10);
+        long agora = 1_000 * HORA;
+        ranking.registrar(1L, agora);
+        ranking.registrar(2L, agora);
+
+        ranking.atualizarTop(agora);
+
+        assertEquals(List.of(1L), ranking.topIds(RankingEmAlta.Janela.DIA, 10));
+    }
+}
@@ -0,0 +1,84 @@
+package service.eventos.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void deveRejeitarQuandoLimiteEsgotado() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0);
+
+        assertThat(limiter.tentarAdquirir()).isTrue();
+        assertThat(limiter.tentarAdquirir()).isTrue();
+        assertThat(limiter.tentarAdquirir()).isFalse();
+        assertThat(limiter.getRejeicoes()).isEqualTo(1);
+    }
+
+    @Test
+    void deveReduzirLimiteQuandoLatenciaSobe() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 100, 2.0);
+
+        limiter.tentarAdquirir();
+        limiter.liberar(10 * MS);
+        for (int i = 0; i < 20; i++) {
+            limiter.tentarAdquirir();
+            limiter.liberar(200 * MS);
+        }
+
+        assertThat(limiter.getLimite()).isLessThan(50);
+    }
+
+    @Test
+    void deveAumentarLimiteSobCargaComLatenciaEstavel() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 100, 2.0);
+
+        for (int i = 0; i < 20; i++) {
+            while (limiter.tentarAdquirir()) {
+                // ocupa todo o limite atual
+            }
+            while (limiter.getEmVoo() > 0) {
+                limiter.liberar(10 * MS);
+            }
+        }
+
+        assertThat(limiter.getLimite()).isGreaterThan(4);
+    }
+
+    @Test
+    void naoDeveCrescerSemPressao() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 2.0);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tentarAdquirir();
+            limiter.liberar(10 * MS);
+        }
+
+        assertThat(limiter.getLimite()).isEqualTo(10);
+    }
+
+    @Test
+    void minimoSoEhEsquecidoAposAJanelaInteira() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 100, 2.0);
+        int amostrasDaJanela = AdaptiveConcurrencyLimiter.AMOSTRAS_POR_LOTE * AdaptiveConcurrencyLimiter.LOTES_POR_JANELA;
+
+        limiter.tentarAdquirir();
+        limiter.liberar(10 * MS);
+        for (int i = 1; i < amostrasDaJanela; i++) {
+            limiter.tentarAdquirir();
+            limiter.liberar(30 * MS);
+        }
+        int limiteAposJanela = limiter.getLimite();
+        assertThat(limiteAposJanela).isLessThan(50);
+
+        // a amostra rápida saiu da janela: 30ms passa a ser a base e o limite para de cair
+        for (int i = 0; i < 5 * AdaptiveConcurrencyLimiter.AMOSTRAS_POR_LOTE; i++) {
+            limiter.tentarAdquirir();
+            limiter.liberar(30 * MS);
+        }
+        assertThat(limiter.getLimite()).isEqualTo(limiteAposJanela);
+    }
+}
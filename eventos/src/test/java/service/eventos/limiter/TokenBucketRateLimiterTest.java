@@ -0,0 +1,76 @@
+package service.eventos.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    private final AtomicLong relogio = new AtomicLong(SEGUNDO);
+
+    @Test
+    void devePermitirRajadaAteACapacidadeEDepoisBloquear() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, relogio::get);
+        TokenBucket.Limite limite = new TokenBucket.Limite(3, 1);
+
+        assertThat(limiter.tentarConsumir("u1|inscrever", limite)).isZero();
+        assertThat(limiter.tentarConsumir("u1|inscrever", limite)).isZero();
+        assertThat(limiter.tentarConsumir("u1|inscrever", limite)).isZero();
+
+        long espera = limiter.tentarConsumir("u1|inscrever", limite);
+        assertThat(espera).isEqualTo(SEGUNDO);
+    }
+
+    @Test
+    void deveReporTokensComOTempo() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, relogio::get);
+        TokenBucket.Limite limite = new TokenBucket.Limite(1, 2);
+
+        assertThat(limiter.tentarConsumir("u1|inscrever", limite)).isZero();
+        assertThat(limiter.tentarConsumir("u1|inscrever", limite)).isPositive();
+
+        relogio.addAndGet(SEGUNDO / 2);
+        assertThat(limiter.tentarConsumir("u1|inscrever", limite)).isZero();
+    }
+
+    @Test
+    void deveIsolarChavesDiferentes() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, relogio::get);
+        TokenBucket.Limite limite = new TokenBucket.Limite(1, 1);
+
+        assertThat(limiter.tentarConsumir("u1|inscrever", limite)).isZero();
+        assertThat(limiter.tentarConsumir("u2|inscrever", limite)).isZero();
+        assertThat(limiter.tentarConsumir("u1|criar-evento", limite)).isZero();
+    }
+
+    @Test
+    void deveDescartarBucketsOciososAoAtingirOLimite() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, relogio::get);
+        TokenBucket.Limite limite = new TokenBucket.Limite(1, 1);
+
+        limiter.tentarConsumir("u1|inscrever", limite);
+        limiter.tentarConsumir("u2|inscrever", limite);
+        relogio.addAndGet(2 * SEGUNDO);
+
+        limiter.tentarConsumir("u3|inscrever", limite);
+        assertThat(limiter.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    void deveLimitarChavesNovasQuandoOMapaEstaCheio() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, relogio::get);
+        TokenBucket.Limite limite = new TokenBucket.Limite(1, 1);
+
+        limiter.tentarConsumir("u1|inscrever", limite);
+        limiter.tentarConsumir("u2|inscrever", limite);
+
+        // mapa cheio de buckets ativos: ids novos dividem o bucket de transbordo
+        assertThat(limiter.tentarConsumir("u3|inscrever", limite)).isZero();
+        assertThat(limiter.tentarConsumir("u4|inscrever", limite)).isPositive();
+        assertThat(limiter.tamanho()).isEqualTo(2);
+    }
+}
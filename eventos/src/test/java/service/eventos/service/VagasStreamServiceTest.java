@@ -0,0 +1,94 @@
+package service.eventos.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import service.eventos.dto.VagasDto;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.model.StatusEvento;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VagasStreamServiceTest {
+
+    private VagasStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VagasStreamService(60_000, 50, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    void clienteTravadoNaoAtrasaOsDemais() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmitterDeTeste travado = new EmitterDeTeste(liberar);
+        EmitterDeTeste rapido = new EmitterDeTeste(null);
+        service.registrar(1L, travado, new VagasDto(1L, 5, StatusEvento.ATIVO));
+        service.registrar(1L, rapido, new VagasDto(1L, 5, StatusEvento.ATIVO));
+        assertTrue(rapido.aguardar(1));
+
+        service.onEventoAlterado(new EventoAlteradoEvent(1L, EventoAlteradoEvent.Tipo.INSCRICAO, 4, StatusEvento.ATIVO));
+        long inicio = System.nanoTime();
+        service.publicar();
+
+        // o ciclo agendado não espera envio nenhum
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 500);
+        assertTrue(rapido.aguardar(2));
+        liberar.countDown();
+    }
+
+    @Test
+    void deveDesconectarQuemFicaPresoAlemDoTimeout() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        service.registrar(1L, new EmitterDeTeste(liberar), new VagasDto(1L, 5, StatusEvento.ATIVO));
+        Thread.sleep(120);
+
+        service.heartbeat();
+
+        assertEquals(0, service.totalAssinantes());
+        liberar.countDown();
+    }
+
+    // send bloqueia até "liberar" (cliente que não lê o socket)
+    private static final class EmitterDeTeste extends SseEmitter {
+        private final CountDownLatch liberar;
+        private final AtomicInteger enviados = new AtomicInteger();
+
+        EmitterDeTeste(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (liberar != null) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            enviados.incrementAndGet();
+        }
+
+        boolean aguardar(int quantidade) throws InterruptedException {
+            long limite = System.currentTimeMillis() + 2000;
+            while (enviados.get() < quantidade && System.currentTimeMillis() < limite) {
+                Thread.sleep(5);
+            }
+            return enviados.get() >= quantidade;
+        }
+    }
+}
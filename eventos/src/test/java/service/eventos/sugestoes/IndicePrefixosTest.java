@@ -0,0 +1,77 @@
+package service.eventos.sugestoes;
+
+import org.junit.jupiter.api.Test;
+import service.eventos.dto.SugestaoDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndicePrefixosTest {
+
+    @Test
+    void buscaSemAcentoNemCaixaPorQualquerPalavra() {
+        IndicePrefixos indice = new IndicePrefixos();
+        indice.indexar(1L, "Festival de Rock", "São José - SC");
+
+        assertEquals(List.of("Festival de Rock"), textos(indice.buscar("ROC", 10)));
+        assertEquals(List.of("São José - SC"), textos(indice.buscar("sao jo", 10)));
+        assertEquals(List.of("São José - SC"), textos(indice.buscar("josé", 10)));
+        assertTrue(indice.buscar("   ", 10).isEmpty());
+    }
+
+    @Test
+    void textosIguaisDeEventosDiferentesAparecemUmaVez() {
+        IndicePrefixos indice = new IndicePrefixos();
+        indice.indexar(1L, "Show A", "Florianópolis");
+        indice.indexar(2L, "Show B", "Florianópolis");
+        indice.indexar(3L, "Feira", "Floresta");
+
+        List<SugestaoDto> sugestoes = indice.buscar("flor", 10);
+
+        assertEquals(List.of("Floresta", "Florianópolis"), textos(sugestoes));
+        assertEquals(List.of("Show A"), textos(indice.buscar("show", 1)));
+    }
+
+    @Test
+    void atualizacaoERemocaoTrocamAsChavesDoEvento() {
+        IndicePrefixos indice = new IndicePrefixos();
+        indice.indexar(1L, "Palestra", "Curitiba");
+        indice.indexar(1L, "Workshop", "Curitiba");
+
+        assertTrue(indice.buscar("pal", 10).isEmpty());
+        assertEquals(List.of("Workshop"), textos(indice.buscar("work", 10)));
+
+        indice.remover(1L);
+
+        assertTrue(indice.buscar("cur", 10).isEmpty());
+        assertEquals(0, indice.eventos());
+    }
+
+    @Test
+    void mesmoTextoEmMuitosEventosOcupaUmaEntrada() {
+        IndicePrefixos indice = new IndicePrefixos();
+        for (long id = 1; id <= 1000; id++) {
+            indice.indexar(id, "Show " + id, "Florianópolis");
+        }
+        int chavesComTodos = indice.chaves();
+
+        // 1000 nomes distintos (duas palavras cada) e uma só localização
+        assertEquals(2 * 1000 + 1, chavesComTodos);
+        for (long id = 1; id < 1000; id++) {
+            indice.remover(id);
+        }
+        List<SugestaoDto> sugestoes = indice.buscar("flor", 10);
+        assertEquals(List.of("Florianópolis"), textos(sugestoes));
+        assertEquals(1000L, sugestoes.get(0).getEventoId());
+
+        indice.remover(1000L);
+        assertTrue(indice.buscar("flor", 10).isEmpty());
+        assertEquals(0, indice.chaves());
+    }
+
+    private static List<String> textos(List<SugestaoDto> sugestoes) {
+        return sugestoes.stream().map(SugestaoDto::getTexto).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package service.eventos.sugestoes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import service.eventos.events.EventoAlteradoEvent;
+import service.eventos.model.StatusEvento;
+import service.eventos.repository.EventoRepository;
+import service.eventos.repository.EventoTexto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SugestoesServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SugestoesService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SugestoesService(eventoRepository, transactionTemplate, 2, 20);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void remocaoDuranteAReconstrucaoNaoSePerdeNaTroca() {
+        // a leitura do banco ainda vê o evento 1; a remoção confirma enquanto o índice novo é montado
+        when(eventoRepository.findTextoByStatusOrderByDataAsc(StatusEvento.ATIVO, Limit.of(3))).thenAnswer(invocation -> {
+            service.onEventoAlterado(new EventoAlteradoEvent(1L, EventoAlteradoEvent.Tipo.REMOVIDO, 0, StatusEvento.ATIVO));
+            return List.of(texto(1L, "Show", "Florianópolis"));
+        });
+        when(eventoRepository.findTextoById(1L)).thenReturn(Optional.empty());
+
+        service.reconstruir();
+
+        assertTrue(service.sugerir("flor", 10).isEmpty());
+    }
+
+    @Test
+    void reconstrucaoRespeitaOLimiteDeEventos() {
+        when(eventoRepository.findTextoByStatusOrderByDataAsc(StatusEvento.ATIVO, Limit.of(3))).thenReturn(List.of(
+                texto(1L, "Feira A", "Curitiba"),
+                texto(2L, "Feira B", "Curitiba"),
+                texto(3L, "Feira C", "Curitiba")));
+
+        service.reconstruir();
+
+        assertEquals(2, service.sugerir("feira", 10).size());
+    }
+
+    private static EventoTexto texto(Long id, String nome, String localizacao) {
+        return new EventoTexto() {
+            public Long getId() { return id; }
+            public String getNome() { return nome; }
+            public String getLocalizacao() { return localizacao; }
+            public StatusEvento getStatus() { return StatusEvento.ATIVO; }
+        };
+    }
+}
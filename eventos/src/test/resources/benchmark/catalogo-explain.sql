@@ -0,0 +1,169 @@
+-- Benchmark dos filtros do catálogo (GET /eventos).
+--
+-- Popula um catálogo grande e confere, via EXPLAIN, que nenhuma combinação de
+-- filtro faz Seq Scan em "eventos". Rodar contra um banco descartável em que a
+-- aplicação já subiu uma vez (migrations aplicadas):
+--
+--   psql -v ON_ERROR_STOP=1 -d eventos_bench -f src/test/resources/benchmark/catalogo-explain.sql
+--
+-- As consultas são o SQL que o Hibernate gera para EventoSpecifications.disponiveis
+-- (capturado com um StatementInspector), com os mesmos parâmetros ligados. O
+-- driver JDBC passa a usar prepared statements no servidor a partir da 5ª
+-- execução, e o Postgres pode trocar para um plano genérico (sem os valores dos
+-- parâmetros) da 6ª em diante. Por isso cada caso roda 5 vezes, o EXPLAIN é da
+-- 6ª, e o plano genérico forçado também precisa passar: é nele que um índice
+-- parcial só é usado se o predicado do índice estiver como literal no SQL.
+--
+-- Os comentários "@@" entre os comandos só os separam para clientes sem o parser do psql.
+
+TRUNCATE evento_participantes, eventos, categorias RESTART IDENTITY CASCADE;
+-- @@
+INSERT INTO categorias (nome)
+SELECT 'Categoria ' || g FROM generate_series(1, 50) g;
+-- @@
+-- 1.000.000 de eventos, ~70% concluídos/inativos/cancelados (histórico), o resto
+-- ativo. Cidade, local, status e categoria vêm de hashes diferentes de g, para
+-- não ficarem correlacionados (com g % n, a categoria 9 seria sempre a mesma cidade).
+INSERT INTO eventos (nome, descricao, localizacao, data, capacidade, status, organizer_id, categoria_id)
+SELECT 'Evento ' || g,
+       'Descrição do evento ' || g,
+       (ARRAY['São Paulo', 'Santos', 'Rio de Janeiro', 'Recife', 'Porto Alegre', 'Curitiba',
+              'Belo Horizonte', 'Salvador', 'Florianópolis', 'Joinville'])[1 + g % 10]
+           || ' - Local ' || ((hashint4(g)::bigint & 2147483647) % 500),
+       now() - interval '3 years' + (g % 2000) * interval '1 day' + (g % 24) * interval '1 hour',
+       50 + g % 450,
+       (ARRAY['ATIVO', 'CONCLUIDO', 'CONCLUIDO', 'INATIVO', 'CANCELADO', 'CONCLUIDO', 'ATIVO', 'CONCLUIDO', 'ATIVO', 'CONCLUIDO'])
+           [1 + (hashint4(g + 1)::bigint & 2147483647) % 10],
+       md5((g % 5000)::text)::uuid,
+       1 + (hashint4(g + 2)::bigint & 2147483647) % 50
+FROM generate_series(1, 1000000) g;
+-- @@
+INSERT INTO evento_participantes (evento_id, participante_id)
+SELECT e.id, md5(e.id::text || '-' || p)::uuid
+FROM eventos e, generate_series(1, 5) p
+WHERE e.id % 7 = 0;
+-- @@
+ANALYZE categorias;
+-- @@
+ANALYZE eventos;
+-- @@
+ANALYZE evento_participantes;
+-- @@
+-- Tipos dos parâmetros como o pgjdbc os envia: Long -> bigint, String -> varchar,
+-- LocalDateTime -> timestamp, Integer (offset/limite da página) -> integer.
+PREPARE catalogo_sem_filtro(integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' order by e1_0.data offset $1 rows fetch first $2 rows only;
+-- @@
+PREPARE catalogo_datas(timestamp, timestamp, integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and e1_0.data>=$1 and e1_0.data<=$2 order by e1_0.data offset $3 rows fetch first $4 rows only;
+-- @@
+PREPARE catalogo_categoria(bigint, integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and e1_0.categoria_id=$1 order by e1_0.data offset $2 rows fetch first $3 rows only;
+-- @@
+PREPARE catalogo_categoria_datas(bigint, timestamp, timestamp, integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and e1_0.categoria_id=$1 and e1_0.data>=$2 and e1_0.data<=$3 order by e1_0.data offset $4 rows fetch first $5 rows only;
+-- @@
+PREPARE catalogo_localizacao(varchar, integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and lower(e1_0.localizacao) like $1 escape '\' order by e1_0.data offset $2 rows fetch first $3 rows only;
+-- @@
+PREPARE catalogo_localizacao_datas(varchar, timestamp, timestamp, integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and lower(e1_0.localizacao) like $1 escape '\' and e1_0.data>=$2 and e1_0.data<=$3 order by e1_0.data offset $4 rows fetch first $5 rows only;
+-- @@
+PREPARE catalogo_categoria_localizacao(bigint, varchar, integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and e1_0.categoria_id=$1 and lower(e1_0.localizacao) like $2 escape '\' order by e1_0.data offset $3 rows fetch first $4 rows only;
+-- @@
+PREPARE catalogo_categoria_localizacao_datas(bigint, varchar, timestamp, timestamp, integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and e1_0.categoria_id=$1 and lower(e1_0.localizacao) like $2 escape '\' and e1_0.data>=$3 and e1_0.data<=$4 order by e1_0.data offset $5 rows fetch first $6 rows only;
+-- @@
+PREPARE catalogo_com_vagas(integer, integer) AS
+select e1_0.id,e1_0.capacidade,e1_0.categoria_id,e1_0.data,e1_0.descricao,e1_0.localizacao,e1_0.nome,e1_0.organizer_id,e1_0.status from eventos e1_0 where e1_0.status='ATIVO' and (select count(*) from evento_participantes pi1_0 where e1_0.id=pi1_0.evento_id)<e1_0.capacidade order by e1_0.data offset $1 rows fetch first $2 rows only;
+-- @@
+PREPARE catalogo_contagem_categoria(bigint) AS
+select count(e1_0.id) from eventos e1_0 where e1_0.status='ATIVO' and e1_0.categoria_id=$1;
+-- @@
+-- execucao: "EXECUTE nome(parâmetros)". indice: se informado, o plano genérico
+-- precisa usá-lo (prova que o índice parcial é elegível mesmo sem os valores dos
+-- parâmetros); no plano com os valores o planejador pode preferir outro caminho.
+CREATE OR REPLACE FUNCTION pg_temp.verificar_plano(descricao text, execucao text, indice text DEFAULT NULL) RETURNS void AS $$
+DECLARE
+    modo text;
+    plano text;
+    linha record;
+BEGIN
+    FOR i IN 1..5 LOOP
+        EXECUTE execucao;
+    END LOOP;
+    FOREACH modo IN ARRAY ARRAY['auto', 'force_generic_plan'] LOOP
+        PERFORM set_config('plan_cache_mode', modo, true);
+        plano := '';
+        FOR linha IN EXECUTE 'EXPLAIN (ANALYZE, BUFFERS) ' || execucao LOOP
+            plano := plano || linha."QUERY PLAN" || E'\n';
+        END LOOP;
+        RAISE NOTICE E'\n== % (plan_cache_mode=%) ==\n%', descricao, modo, plano;
+        IF plano ~ 'Seq Scan on eventos' THEN
+            RAISE EXCEPTION 'Filtro "%" fez Seq Scan em eventos (plan_cache_mode=%)', descricao, modo;
+        END IF;
+        IF modo = 'force_generic_plan' AND indice IS NOT NULL AND position(indice IN plano) = 0 THEN
+            RAISE EXCEPTION 'Filtro "%" não usou o índice % no plano genérico', descricao, indice;
+        END IF;
+    END LOOP;
+    PERFORM set_config('plan_cache_mode', 'auto', true);
+END;
+$$ LANGUAGE plpgsql;
+-- @@
+SELECT pg_temp.verificar_plano('sem filtro', $q$
+    EXECUTE catalogo_sem_filtro(0, 20)
+$q$);
+-- @@
+SELECT pg_temp.verificar_plano('intervalo de datas', $q$
+    EXECUTE catalogo_datas(localtimestamp, localtimestamp + interval '30 days', 0, 20)
+$q$);
+-- @@
+SELECT pg_temp.verificar_plano('categoria', $q$
+    EXECUTE catalogo_categoria(7, 0, 20)
+$q$);
+-- @@
+SELECT pg_temp.verificar_plano('categoria + datas', $q$
+    EXECUTE catalogo_categoria_datas(7, localtimestamp, localtimestamp + interval '90 days', 0, 20)
+$q$);
+-- @@
+-- "Florianópolis - Local 8" (8, 80..89) é seletivo (~0,06% do catálogo): vai pelo GIN de trigramas;
+-- com intervalo de datas o planejador pode preferir o B-tree por data, que também serve
+SELECT pg_temp.verificar_plano('prefixo de localização', $q$
+    EXECUTE catalogo_localizacao('florianópolis - local 8%', 0, 20)
+$q$, 'idx_eventos_ativos_categoria_localizacao_trgm');
+-- @@
+SELECT pg_temp.verificar_plano('prefixo de localização + datas', $q$
+    EXECUTE catalogo_localizacao_datas('florianópolis - local 8%', localtimestamp, localtimestamp + interval '1 year', 0, 20)
+$q$);
+-- @@
+SELECT pg_temp.verificar_plano('categoria + prefixo de localização', $q$
+    EXECUTE catalogo_categoria_localizacao(9, 'florianópolis - local 8%', 0, 20)
+$q$, 'idx_eventos_ativos_categoria_localizacao_trgm');
+-- @@
+SELECT pg_temp.verificar_plano('categoria + prefixo de localização + datas', $q$
+    EXECUTE catalogo_categoria_localizacao_datas(9, 'florianópolis - local 8%', localtimestamp, localtimestamp + interval '1 year', 0, 20)
+$q$);
+-- @@
+-- prefixo sem nenhum evento: percorrer os ativos em ordem de data leria todos
+-- eles; só o GIN (com as estatísticas de V9) responde rápido
+SELECT pg_temp.verificar_plano('prefixo de localização sem resultados', $q$
+    EXECUTE catalogo_localizacao('joinville - local 7x%', 0, 20)
+$q$, 'idx_eventos_ativos_categoria_localizacao_trgm');
+-- @@
+-- cidade inteira (~10% do catálogo): o caminho já ordenado por data para no LIMIT
+SELECT pg_temp.verificar_plano('prefixo de localização pouco seletivo', $q$
+    EXECUTE catalogo_localizacao('flor%', 0, 20)
+$q$);
+-- @@
+SELECT pg_temp.verificar_plano('categoria + prefixo de localização pouco seletivo', $q$
+    EXECUTE catalogo_categoria_localizacao(9, 'flor%', 0, 20)
+$q$);
+-- @@
+SELECT pg_temp.verificar_plano('com vagas', $q$
+    EXECUTE catalogo_com_vagas(0, 20)
+$q$);
+-- @@
+SELECT pg_temp.verificar_plano('contagem da página (categoria)', $q$
+    EXECUTE catalogo_contagem_categoria(7)
+$q$);